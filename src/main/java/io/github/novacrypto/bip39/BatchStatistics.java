@@ -0,0 +1,71 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+/**
+ * Throughput of a batch operation.
+ */
+public final class BatchStatistics {
+    private final int count;
+    private final long elapsedNanos;
+    private final int parallelism;
+
+    BatchStatistics(final int count, final long elapsedNanos, final int parallelism) {
+        this.count = count;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return Number of items processed.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return Wall clock time taken by the whole batch.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Parallelism of the pool the batch ran on.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @return Items processed per second of wall clock time.
+     */
+    public double getPerSecond() {
+        return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d in %.3f ms on %d threads, %.1f/s",
+                count, elapsedNanos / 1e6, parallelism, getPerSecond());
+    }
+}
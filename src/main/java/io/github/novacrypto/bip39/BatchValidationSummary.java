@@ -0,0 +1,85 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+/**
+ * Outcome counts and throughput of a batch validation.
+ */
+public final class BatchValidationSummary {
+    private final int[] counts;
+    private final BatchStatistics statistics;
+
+    BatchValidationSummary(final int[] counts, final BatchStatistics statistics) {
+        this.counts = counts;
+        this.statistics = statistics;
+    }
+
+    /**
+     * @return Number of mnemonics checked.
+     */
+    public int getCount() {
+        return statistics.getCount();
+    }
+
+    /**
+     * @return Number of valid mnemonics.
+     */
+    public int getValidCount() {
+        return counts[ValidationStatus.VALID];
+    }
+
+    /**
+     * @return Number of invalid mnemonics.
+     */
+    public int getInvalidCount() {
+        return getCount() - getValidCount();
+    }
+
+    /**
+     * @param outcome One of the {@link ValidationStatus} outcomes
+     * @return Number of mnemonics with that outcome.
+     */
+    public int getCount(final int outcome) {
+        if (outcome < 0 || outcome >= counts.length)
+            throw new IllegalArgumentException("Unknown outcome " + outcome);
+        return counts[outcome];
+    }
+
+    /**
+     * @return Throughput of the batch.
+     */
+    public BatchStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d valid, %d invalid word count, %d word not found, %d unexpected white space, " +
+                        "%d invalid checksum; %s",
+                counts[ValidationStatus.VALID],
+                counts[ValidationStatus.INVALID_WORD_COUNT],
+                counts[ValidationStatus.WORD_NOT_FOUND],
+                counts[ValidationStatus.UNEXPECTED_WHITE_SPACE],
+                counts[ValidationStatus.INVALID_CHECKSUM],
+                statistics);
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates mnemonics in bulk from a stream of entropy, each {@link Words#byteLength()} bytes of input making one.
+ * <p>
+ * Input is read in chunks, each chunk is generated in parallel on a {@link ForkJoinPool} while the next is read,
+ * then handed to the sink on the calling thread in input order. Output is the same whatever the parallelism.
+ */
+public final class BulkMnemonicGenerator {
+
+    /**
+     * Receives each mnemonic in input order, on the thread that called generate.
+     * The array is reused and cleared after the call, so copy anything needed.
+     */
+    public interface MnemonicSink {
+        void accept(final long index, final char[] chars, final int offset, final int length);
+    }
+
+    /**
+     * Receives the word list indexes of each mnemonic in input order, on the thread that called generate.
+     * The array is reused and cleared after the call, so copy anything needed.
+     */
+    public interface WordIndexSink {
+        void accept(final long index, final int[] wordIndexes, final int offset, final int count);
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private final MnemonicGenerator generator;
+    private final int entropyBytes;
+    private final int wordCount;
+    private final int maxLength;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * Generates on a shared pool sized to the available processors.
+     *
+     * @param generator Generator for the language to produce
+     * @param words     Size of mnemonic, which sets how much entropy each one takes
+     */
+    public BulkMnemonicGenerator(final MnemonicGenerator generator, final Words words) {
+        this(generator, words, SharedPool.get(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param generator Generator for the language to produce
+     * @param words     Size of mnemonic, which sets how much entropy each one takes
+     * @param pool      The pool to generate on
+     * @param chunkSize Mnemonics per chunk, two chunks of input and output are held at once
+     */
+    public BulkMnemonicGenerator(final MnemonicGenerator generator, final Words words,
+                                 final ForkJoinPool pool, final int chunkSize) {
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        this.generator = generator;
+        entropyBytes = words.byteLength();
+        wordCount = MnemonicGenerator.wordCount(words.bitLength());
+        maxLength = generator.maxLength(words);
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param entropy Contiguous entropy, a whole number of mnemonics long
+     * @param offset  Where the entropy starts
+     * @param length  Bytes of entropy
+     * @param sink    Receives the mnemonics
+     * @return Number of mnemonics generated
+     */
+    public long generate(final byte[] entropy, final int offset, final int length, final MnemonicSink sink) {
+        return generate(source(entropy, offset, length), new Chars(sink));
+    }
+
+    /**
+     * @param in   Entropy, read to the end, which must be a whole number of mnemonics long
+     * @param sink Receives the mnemonics
+     * @return Number of mnemonics generated
+     */
+    public long generate(final InputStream in, final MnemonicSink sink) throws IOException {
+        return generate(source(in), new Chars(sink));
+    }
+
+    /**
+     * @param in   Entropy, read to the end, which must be a whole number of mnemonics long
+     * @param sink Receives the mnemonics
+     * @return Number of mnemonics generated
+     */
+    public long generate(final ReadableByteChannel in, final MnemonicSink sink) throws IOException {
+        return generate(source(in), new Chars(sink));
+    }
+
+    /**
+     * @see #generate(byte[], int, int, MnemonicSink)
+     */
+    public long generateWordIndexes(final byte[] entropy, final int offset, final int length,
+                                    final WordIndexSink sink) {
+        return generate(source(entropy, offset, length), new Indexes(sink));
+    }
+
+    /**
+     * @see #generate(InputStream, MnemonicSink)
+     */
+    public long generateWordIndexes(final InputStream in, final WordIndexSink sink) throws IOException {
+        return generate(source(in), new Indexes(sink));
+    }
+
+    /**
+     * @see #generate(ReadableByteChannel, MnemonicSink)
+     */
+    public long generateWordIndexes(final ReadableByteChannel in, final WordIndexSink sink) throws IOException {
+        return generate(source(in), new Indexes(sink));
+    }
+
+    private <E extends Exception> long generate(final Source<E> source, final Output output) throws E {
+        Chunk current = new Chunk(output);
+        Chunk next = new Chunk(output);
+        ForkJoinTask<?> pending = null;
+        long index = 0;
+        try {
+            int count = source.fill(current.entropy);
+            pending = submit(current, count);
+            while (pending != null) {
+                final int nextCount = source.fill(next.entropy);
+                pending.join();
+                pending = null;
+                final ForkJoinTask<?> nextPending = submit(next, nextCount);
+                try {
+                    output.deliver(current, count, index);
+                } finally {
+                    pending = nextPending;
+                }
+                index += count;
+                current.clear();
+                final Chunk swap = current;
+                current = next;
+                next = swap;
+                count = nextCount;
+            }
+            return index;
+        } finally {
+            if (pending != null)
+                pending.quietlyJoin();
+            current.clear();
+            next.clear();
+        }
+    }
+
+    private ForkJoinTask<?> submit(final Chunk chunk, final int count) {
+        if (count == 0)
+            return null;
+        return pool.submit(new Task(chunk, 0, count, SharedPool.leafSize(count, pool.getParallelism())));
+    }
+
+    private final class Task extends RecursiveAction {
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        Task(final Chunk chunk, final int from, final int to, final int leafSize) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    chunk.output.generate(chunk, i);
+                }
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new Task(chunk, from, middle, leafSize), new Task(chunk, middle, to, leafSize));
+            }
+        }
+    }
+
+    /**
+     * One chunk of input and the output generated from it.
+     */
+    private final class Chunk {
+        private final Output output;
+        private final byte[] entropy = new byte[chunkSize * entropyBytes];
+        private final char[] chars;
+        private final int[] lengths;
+        private final int[] wordIndexes;
+
+        Chunk(final Output output) {
+            this.output = output;
+            final boolean words = output instanceof Indexes;
+            chars = words ? null : new char[chunkSize * maxLength];
+            lengths = words ? null : new int[chunkSize];
+            wordIndexes = words ? new int[chunkSize * wordCount] : null;
+        }
+
+        void clear() {
+            Arrays.fill(entropy, (byte) 0);
+            if (chars != null) Arrays.fill(chars, '\0');
+            if (wordIndexes != null) Arrays.fill(wordIndexes, 0);
+        }
+    }
+
+    private interface Output {
+        void generate(final Chunk chunk, final int i);
+
+        void deliver(final Chunk chunk, final int count, final long firstIndex);
+    }
+
+    private final class Chars implements Output {
+        private final MnemonicSink sink;
+
+        Chars(final MnemonicSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void generate(final Chunk chunk, final int i) {
+            chunk.lengths[i] = generator.createMnemonic(chunk.entropy, i * entropyBytes, entropyBytes,
+                    chunk.chars, i * maxLength);
+        }
+
+        @Override
+        public void deliver(final Chunk chunk, final int count, final long firstIndex) {
+            for (int i = 0; i < count; i++) {
+                sink.accept(firstIndex + i, chunk.chars, i * maxLength, chunk.lengths[i]);
+            }
+        }
+    }
+
+    private final class Indexes implements Output {
+        private final WordIndexSink sink;
+
+        Indexes(final WordIndexSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void generate(final Chunk chunk, final int i) {
+            MnemonicGenerator.wordIndexes(chunk.entropy, i * entropyBytes, entropyBytes,
+                    chunk.wordIndexes, i * wordCount);
+        }
+
+        @Override
+        public void deliver(final Chunk chunk, final int count, final long firstIndex) {
+            for (int i = 0; i < count; i++) {
+                sink.accept(firstIndex + i, chunk.wordIndexes, i * wordCount, wordCount);
+            }
+        }
+    }
+
+    /**
+     * Fills a chunk's entropy, returning how many whole mnemonics worth were read, 0 at the end.
+     */
+    private interface Source<E extends Exception> {
+        int fill(final byte[] entropy) throws E;
+    }
+
+    private Source<RuntimeException> source(final byte[] entropy, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > entropy.length - length)
+            throw new IllegalArgumentException("Range outside of entropy array");
+        if (length % entropyBytes != 0)
+            throw new IllegalArgumentException("Entropy length must be a multiple of " + entropyBytes);
+        return new Source<RuntimeException>() {
+            private int position = offset;
+
+            @Override
+            public int fill(final byte[] block) {
+                final int bytes = Math.min(block.length, offset + length - position);
+                System.arraycopy(entropy, position, block, 0, bytes);
+                position += bytes;
+                return bytes / entropyBytes;
+            }
+        };
+    }
+
+    private Source<IOException> source(final InputStream in) {
+        return new Source<IOException>() {
+            @Override
+            public int fill(final byte[] block) throws IOException {
+                int bytes = 0;
+                while (bytes < block.length) {
+                    final int read = in.read(block, bytes, block.length - bytes);
+                    if (read < 0)
+                        break;
+                    bytes += read;
+                }
+                return wholeMnemonics(bytes);
+            }
+        };
+    }
+
+    private Source<IOException> source(final ReadableByteChannel in) {
+        return new Source<IOException>() {
+            @Override
+            public int fill(final byte[] block) throws IOException {
+                final ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    if (in.read(buffer) < 0)
+                        break;
+                }
+                return wholeMnemonics(buffer.position());
+            }
+        };
+    }
+
+    private int wholeMnemonics(final int bytes) throws EOFException {
+        if (bytes % entropyBytes != 0)
+            throw new EOFException("Entropy ended part way through a mnemonic");
+        return bytes / entropyBytes;
+    }
+}
@@ -55,4 +55,19 @@ final class ByteUtils {
             bytes[skip + 2] = (byte) (valueInByte | toWrite);
         }
     }
+
+    /**
+     * Replaces an 11 bit field in bits held big-endian across longs, as a search updates one word of a candidate.
+     */
+    static void write11(final long[] bits, final int value, final int offset) {
+        final int index = offset >>> 6;
+        final int shift = 64 - 11 - (offset & 63);
+        if (shift >= 0) {
+            bits[index] = bits[index] & ~(0x7ffL << shift) | (long) value << shift;
+        } else {
+            bits[index] = bits[index] & ~(0x7ffL >>> -shift) | (long) value >>> -shift;
+            final int lowShift = 64 + shift;
+            bits[index + 1] = bits[index + 1] & ~(0x7ffL << lowShift) | (long) value << lowShift;
+        }
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+/**
+ * Delegates to the fastest backend on the running JVM, as found by {@link PBKDF2Calibration#run()} the first time
+ * this is used. The calibration takes a fraction of a second; log {@link #getCalibration()} to see what was chosen.
+ * Should the calibration itself fail, {@link PureJavaPBKDF2WithHmacSHA512} is used.
+ */
+public enum CalibratedPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512ToBuffer {
+    INSTANCE;
+
+    private static final class Holder {
+        private static final PBKDF2Calibration CALIBRATION =
+                PBKDF2Calibration.runOrFallBack(PBKDF2Calibration.libraryBackends());
+    }
+
+    @Override
+    public byte[] hash(final char[] chars, final byte[] salt) {
+        return Holder.CALIBRATION.getSelected().hash(chars, salt);
+    }
+
+    @Override
+    public void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset) {
+        PBKDF2WithHmacSHA512Extensions.of(Holder.CALIBRATION.getSelected()).hash(chars, salt, out, offset);
+    }
+
+    /**
+     * Runs the calibration if it has not yet run.
+     *
+     * @return The choice and measurements made on this JVM.
+     */
+    public PBKDF2Calibration getCalibration() {
+        return Holder.CALIBRATION;
+    }
+}
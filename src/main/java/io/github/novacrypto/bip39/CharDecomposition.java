@@ -0,0 +1,83 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.text.Normalizer;
+
+/**
+ * NFKD decomposition of single chars, computed a 256 char page at a time on first use.
+ * <p>
+ * Concatenating these is the NFKD form of a string as long as no two combining marks end up adjacent, in which case
+ * canonical reordering could apply. Callers check for that with {@link #isMark(char)} and fall back to
+ * {@link Normalizer}.
+ */
+final class CharDecomposition {
+
+    private static final Page[] PAGES = new Page[256];
+
+    private CharDecomposition() {
+    }
+
+    /**
+     * @param c A char that is not a surrogate
+     * @return The NFKD decomposition of c, or null if c is already in NFKD form
+     */
+    static char[] of(final char c) {
+        final int pageIndex = c >>> 8;
+        Page page = PAGES[pageIndex];
+        if (page == null) {
+            page = new Page(pageIndex);
+            PAGES[pageIndex] = page;
+        }
+        return page.decompositions[c & 0xff];
+    }
+
+    static boolean isMark(final char c) {
+        if (c < 0x300) return false;
+        switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Immutable once constructed, the final field makes racy publication through {@link #PAGES} safe.
+     */
+    private static final class Page {
+        private final char[][] decompositions = new char[256][];
+
+        Page(final int pageIndex) {
+            for (int i = 0; i < 256; i++) {
+                final char c = (char) (pageIndex << 8 | i);
+                if (Character.isSurrogate(c)) continue;
+                final String single = String.valueOf(c);
+                final String normalized = Normalizer.normalize(single, Normalizer.Form.NFKD);
+                if (!normalized.equals(single))
+                    decompositions[i] = normalized.toCharArray();
+            }
+        }
+    }
+}
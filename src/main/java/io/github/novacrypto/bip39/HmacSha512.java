@@ -0,0 +1,238 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * HMAC-SHA512 keyed once, holding the SHA-512 states after absorbing the ipad and opad blocks.
+ * <p>
+ * Each HMAC over a short message then resumes from those states, so a PBKDF2 iteration costs exactly two
+ * compressions and no allocation.
+ */
+final class HmacSha512 {
+
+    static final int MAC_BYTES = 64;
+
+    private static final long IPAD = 0x3636363636363636L;
+    private static final long OPAD = 0x5c5c5c5c5c5c5c5cL;
+
+    /**
+     * Bit length of the final block message when hashing a 64 byte value after a key block.
+     */
+    private static final long ONE_MAC_AFTER_KEY_BITS = (Sha512.BLOCK_BYTES + MAC_BYTES) * 8;
+
+    private final long[] innerState = new long[8];
+    private final long[] outerState = new long[8];
+
+    HmacSha512(final byte[] key) {
+        final long[] w = Sha512.newSchedule();
+        final long[] keyWords = new long[16];
+        try {
+            if (key.length > Sha512.BLOCK_BYTES) {
+                final long[] digest = new long[8];
+                Sha512.initialState(digest);
+                Sha512.hash(digest, 0, key, 0, key.length, w, digest);
+                System.arraycopy(digest, 0, keyWords, 0, 8);
+                Arrays.fill(digest, 0);
+            } else {
+                for (int i = 0; i < key.length; i++) {
+                    keyWords[i >>> 3] |= ((long) key[i] & 0xff) << (56 - ((i & 7) << 3));
+                }
+            }
+            final long[] iv = new long[8];
+            Sha512.initialState(iv);
+            for (int i = 0; i < 16; i++) {
+                w[i] = keyWords[i] ^ IPAD;
+            }
+            Sha512.compress(iv, w, innerState);
+            for (int i = 0; i < 16; i++) {
+                w[i] = keyWords[i] ^ OPAD;
+            }
+            Sha512.compress(iv, w, outerState);
+        } finally {
+            Arrays.fill(keyWords, 0);
+            Arrays.fill(w, 0);
+        }
+    }
+
+    /**
+     * Keys with the UTF-8 encoding of the password, as PBKDF2 does.
+     */
+    static HmacSha512 ofPassword(final char[] chars) {
+        final byte[] password = Utf8.encode(chars);
+        try {
+            return new HmacSha512(password);
+        } finally {
+            Arrays.fill(password, (byte) 0);
+        }
+    }
+
+    /**
+     * Throws unless out has room for a MAC at offset, so that callers check before doing any work.
+     */
+    static void checkRoom(final byte[] out, final int offset) {
+        if (offset < 0 || offset > out.length - MAC_BYTES)
+            throw new IllegalArgumentException("Need " + MAC_BYTES + " bytes from offset " + offset);
+    }
+
+    /**
+     * PBKDF2 for a single 64 byte block, i.e. where the derived key length equals the HMAC length, as in BIP0039.
+     *
+     * @param salt       The salt, the block index is appended internally
+     * @param iterations Iteration count
+     * @param out        Where to write the 64 byte derived key
+     * @param offset     Offset into out
+     */
+    void pbkdf2(final byte[] salt, final int iterations, final byte[] out, final int offset) {
+        pbkdf2(salt, iterations, out, offset, Cancellation.NEVER);
+    }
+
+    /**
+     * As {@link #pbkdf2(byte[], int, byte[], int)}, abandoning the derivation between iterations if cancelled.
+     *
+     * @throws CancellationException If cancelled, nothing is written to out
+     */
+    void pbkdf2(final byte[] salt, final int iterations, final byte[] out, final int offset,
+                final Cancellation cancellation) {
+        final Scratch scratch = new Scratch();
+        try {
+            pbkdf2(salt, iterations, out, offset, scratch, cancellation);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * As {@link #pbkdf2(byte[], int, byte[], int)} with caller owned working buffers, for deriving many keys in a
+     * row. Caller must clear the scratch when done.
+     */
+    void pbkdf2(final byte[] salt, final int iterations, final byte[] out, final int offset, final Scratch scratch) {
+        pbkdf2(salt, iterations, out, offset, scratch, Cancellation.NEVER);
+    }
+
+    /**
+     * As {@link #pbkdf2(byte[], int, byte[], int, Cancellation)}, writing the derived key at the buffer's position
+     * and advancing it. A direct buffer receives the key straight from the working state with no heap copy.
+     *
+     * @throws CancellationException If cancelled, nothing is written to out
+     */
+    void pbkdf2(final byte[] salt, final int iterations, final ByteBuffer out, final Cancellation cancellation) {
+        final Scratch scratch = new Scratch();
+        try {
+            derive(salt, iterations, scratch, cancellation);
+            final long[] t = scratch.t;
+            for (int i = 0; i < MAC_BYTES; i++) {
+                out.put((byte) (t[i >>> 3] >>> (56 - ((i & 7) << 3))));
+            }
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private void pbkdf2(final byte[] salt, final int iterations, final byte[] out, final int offset,
+                        final Scratch scratch, final Cancellation cancellation) {
+        derive(salt, iterations, scratch, cancellation);
+        for (int j = 0; j < 8; j++) {
+            Sha512.writeLong(scratch.t[j], out, offset + j * 8);
+        }
+    }
+
+    /**
+     * Leaves the derived key in {@code scratch.t}.
+     */
+    private void derive(final byte[] salt, final int iterations, final Scratch scratch,
+                        final Cancellation cancellation) {
+        final long[] w = scratch.w;
+        final long[] u = scratch.u;
+        final long[] t = scratch.t;
+        firstIteration(salt, w, u);
+        System.arraycopy(u, 0, t, 0, 8);
+        for (int i = 1; i < iterations; i++) {
+            if (cancellation.isCancelled())
+                throw new CancellationException("Seed calculation cancelled");
+            nextIteration(w, u);
+            for (int j = 0; j < 8; j++) {
+                t[j] ^= u[j];
+            }
+        }
+    }
+
+    /**
+     * Working buffers for {@link #pbkdf2}, these hold secret intermediate values.
+     */
+    static final class Scratch {
+        private final long[] w = Sha512.newSchedule();
+        private final long[] u = new long[8];
+        private final long[] t = new long[8];
+
+        void clear() {
+            Arrays.fill(w, 0);
+            Arrays.fill(u, 0);
+            Arrays.fill(t, 0);
+        }
+    }
+
+    /**
+     * U1 = HMAC(P, S || INT(1)), also leaves the padding for every later iteration in {@code w[8..15]}.
+     */
+    void firstIteration(final byte[] salt, final long[] w, final long[] u) {
+        final byte[] message = Arrays.copyOf(salt, salt.length + 4);
+        message[salt.length + 3] = 1;
+        try {
+            Sha512.hash(innerState, Sha512.BLOCK_BYTES, message, 0, message.length, w, u);
+        } finally {
+            Arrays.fill(message, (byte) 0);
+        }
+        padOneMacBlock(w);
+        outer(w, u);
+    }
+
+    /**
+     * U(n) = HMAC(P, U(n-1)), requires {@code w[8..15]} to hold the padding set by {@link #firstIteration}.
+     */
+    void nextIteration(final long[] w, final long[] u) {
+        System.arraycopy(u, 0, w, 0, 8);
+        Sha512.compress(innerState, w, u);
+        outer(w, u);
+    }
+
+    private void outer(final long[] w, final long[] u) {
+        System.arraycopy(u, 0, w, 0, 8);
+        Sha512.compress(outerState, w, u);
+    }
+
+    private static void padOneMacBlock(final long[] w) {
+        w[8] = 0x8000000000000000L;
+        for (int i = 9; i < 15; i++) {
+            w[i] = 0;
+        }
+        w[15] = ONE_MAC_AFTER_KEY_BITS;
+    }
+
+    void clear() {
+        Arrays.fill(innerState, 0);
+        Arrays.fill(outerState, 0);
+    }
+}
@@ -26,17 +26,26 @@ import io.github.novacrypto.toruntime.CheckedExceptionToRuntime;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
+import java.util.Arrays;
 
 import static io.github.novacrypto.toruntime.CheckedExceptionToRuntime.toRuntime;
 
 /**
  * Not available in all Java implementations, for example will not find the implementation before Android API 26+.
  * See https://developer.android.com/reference/javax/crypto/SecretKeyFactory.html for more details.
+ * <p>
+ * Thread safe with no shared mutable state, each thread lazily gets its own {@link SecretKeyFactory} as their thread
+ * safety is provider dependent.
  */
-public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
+public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512ToBuffer {
     INSTANCE;
 
-    private SecretKeyFactory skf = getPbkdf2WithHmacSHA512();
+    private final ThreadLocal<SecretKeyFactory> skf = new ThreadLocal<SecretKeyFactory>() {
+        @Override
+        protected SecretKeyFactory initialValue() {
+            return getPbkdf2WithHmacSHA512();
+        }
+    };
 
     @Override
     public byte[] hash(char[] chars, byte[] salt) {
@@ -46,11 +55,22 @@ public enum JavaxPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
         return encoded;
     }
 
+    /**
+     * {@link SecretKeyFactory} can only hand back a new array, so this copies it into out and clears it.
+     */
+    @Override
+    public void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset) {
+        HmacSha512.checkRoom(out, offset);
+        final byte[] encoded = hash(chars, salt);
+        System.arraycopy(encoded, 0, out, offset, encoded.length);
+        Arrays.fill(encoded, (byte) 0);
+    }
+
     private SecretKey generateSecretKey(final PBEKeySpec spec) {
         return toRuntime(new CheckedExceptionToRuntime.Func<SecretKey>() {
             @Override
             public SecretKey run() throws Exception {
-                return skf.generateSecret(spec);
+                return skf.get().generateSecret(spec);
             }
         });
     }
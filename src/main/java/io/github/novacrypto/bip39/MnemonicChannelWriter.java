@@ -0,0 +1,106 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes UTF-8 mnemonics, one per line, to a channel such as a file or socket.
+ * <p>
+ * Mnemonics are batched in a direct buffer and drained to the channel when it cannot fit another, or on
+ * {@link #flush()}. What is drained is zeroed in the buffer, even when the channel fails part way. Not thread safe.
+ */
+public final class MnemonicChannelWriter implements Flushable {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final MnemonicGenerator generator;
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final int maxLineLength;
+
+    /**
+     * @param generator  Generator for the language to write
+     * @param channel    Where to write, not closed by this writer
+     * @param bufferSize Size of the batch buffer, must fit at least the longest possible mnemonic
+     */
+    public MnemonicChannelWriter(final MnemonicGenerator generator,
+                                 final WritableByteChannel channel,
+                                 final int bufferSize) {
+        this.generator = generator;
+        this.channel = channel;
+        maxLineLength = generator.maxUtf8Length() + 1;
+        if (bufferSize < maxLineLength)
+            throw new IllegalArgumentException("Buffer size must be at least " + maxLineLength);
+        buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Uses a 64KiB buffer.
+     */
+    public MnemonicChannelWriter(final MnemonicGenerator generator, final WritableByteChannel channel) {
+        this(generator, channel, 1 << 16);
+    }
+
+    /**
+     * Writes the mnemonic for the entropy followed by a new line.
+     *
+     * @param entropy 128-256 bits of entropy, number of bits must also be divisible by 32
+     * @throws IOException If a drain to the channel fails
+     */
+    public void write(final byte[] entropy) throws IOException {
+        if (buffer.remaining() < maxLineLength)
+            flush();
+        generator.createMnemonic(entropy, buffer);
+        buffer.put(NEW_LINE);
+    }
+
+    /**
+     * Drains everything buffered to the channel. If the channel fails, what was not drained stays buffered.
+     */
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            final int buffered = buffer.limit();
+            zero(0, buffer.position());
+            buffer.compact();
+            zero(buffer.position(), buffered);
+            throw e;
+        }
+        zero(0, buffer.limit());
+        buffer.clear();
+    }
+
+    private void zero(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            buffer.put(i, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Creates mnemonics from fresh random entropy.
+ * <p>
+ * Each thread has its own {@link SecureRandom}, so there is no shared lock. Entropy is drawn a block at a time into
+ * a per thread pool, so one call to the random source serves many mnemonics. Bytes are zeroed in the pool as they
+ * are taken and never handed out twice.
+ */
+public final class MnemonicFactory {
+
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final MnemonicGenerator generator;
+    private final int blockSize;
+
+    private final ThreadLocal<EntropyPool> pool = new ThreadLocal<EntropyPool>() {
+        @Override
+        protected EntropyPool initialValue() {
+            return new EntropyPool(new SecureRandom(), blockSize);
+        }
+    };
+
+    /**
+     * @param wordList A known ordered list of 2048 words to select from.
+     */
+    public MnemonicFactory(final WordList wordList) {
+        this(wordList, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param wordList  A known ordered list of 2048 words to select from.
+     * @param blockSize Bytes drawn from each thread's {@link SecureRandom} at a time, at least one 24 word entropy
+     */
+    public MnemonicFactory(final WordList wordList, final int blockSize) {
+        if (blockSize < Words.TWENTY_FOUR.byteLength())
+            throw new IllegalArgumentException("Block size must be at least " + Words.TWENTY_FOUR.byteLength());
+        generator = new MnemonicGenerator(wordList);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Create a random mnemonic.
+     *
+     * @param words  Size of mnemonic
+     * @param target Where to write the mnemonic to
+     */
+    public void random(final Words words, final MnemonicGenerator.Target target) {
+        final EntropyPool entropyPool = pool.get();
+        final byte[] entropy = entropyPool.take(words);
+        try {
+            generator.createMnemonic(entropy, target);
+        } finally {
+            Arrays.fill(entropy, (byte) 0);
+        }
+    }
+
+    /**
+     * Create a random mnemonic into a caller supplied array.
+     *
+     * @param words  Size of mnemonic
+     * @param out    Where to write the mnemonic to
+     * @param offset Where in out to start writing
+     * @return Number of chars written
+     * @see MnemonicGenerator#createMnemonic(byte[], char[], int)
+     */
+    public int random(final Words words, final char[] out, final int offset) {
+        final EntropyPool entropyPool = pool.get();
+        final byte[] entropy = entropyPool.take(words);
+        try {
+            return generator.createMnemonic(entropy, out, offset);
+        } finally {
+            Arrays.fill(entropy, (byte) 0);
+        }
+    }
+
+    /**
+     * A thread's random source and the unused part of its last block.
+     */
+    private static final class EntropyPool {
+        private final SecureRandom random;
+        private final byte[] block;
+        private final byte[][] entropies = new byte[Words.values().length][];
+        private int position;
+
+        EntropyPool(final SecureRandom random, final int blockSize) {
+            this.random = random;
+            block = new byte[blockSize];
+            position = blockSize;
+        }
+
+        /**
+         * @return This thread's array for this size of entropy, filled, which the caller must clear.
+         */
+        byte[] take(final Words words) {
+            final int length = words.byteLength();
+            final int index = words.ordinal();
+            if (entropies[index] == null)
+                entropies[index] = new byte[length];
+            final byte[] entropy = entropies[index];
+            if (block.length - position < length) {
+                random.nextBytes(block);
+                position = 0;
+            }
+            System.arraycopy(block, position, entropy, 0, length);
+            Arrays.fill(block, position, position + length, (byte) 0);
+            position += length;
+            return entropy;
+        }
+    }
+}
@@ -21,17 +21,34 @@
 
 package io.github.novacrypto.bip39;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.Arrays;
 
 import static io.github.novacrypto.bip39.ByteUtils.next11Bits;
-import static io.github.novacrypto.hashing.Sha256.sha256;
 
 /**
  * Generates mnemonics from entropy.
  */
 public final class MnemonicGenerator {
 
+    private static final int MAX_ENTROPY_BYTES = 32;
+    private static final int MAX_WORDS = 24;
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
     private final WordList wordList;
+    private final String space;
+    private final char spaceChar;
+    private final char[][] words;
+    private final byte[][] utf8Words;
+    private final byte[] utf8Space;
 
     /**
      * Create a generator using the given word list.
@@ -40,6 +57,12 @@ public final class MnemonicGenerator {
      */
     public MnemonicGenerator(final WordList wordList) {
         this.wordList = wordList;
+        spaceChar = wordList.getSpace();
+        space = String.valueOf(spaceChar);
+        final WordTables tables = WordTables.of(wordList);
+        words = tables.words;
+        utf8Words = tables.utf8Words;
+        utf8Space = tables.utf8Space;
     }
 
     public interface Target {
@@ -71,6 +94,8 @@ public final class MnemonicGenerator {
 
     /**
      * Create a mnemonic from the word list given the entropy.
+     * <p>
+     * To calculate the seed at the same time see {@link SeedCalculatorByWordListLookUp#createMnemonicAndSeed}.
      *
      * @param entropy 128-256 bits of entropy, number of bits must also be divisible by 32
      * @param target  Where to write the mnemonic to
@@ -86,41 +111,236 @@ public final class MnemonicGenerator {
         }
     }
 
-    private void createMnemonic(
+    /**
+     * Create a mnemonic from the word list given the entropy, into a caller supplied array.
+     * <p>
+     * Words are copied from tables prepared when this generator was created, and the working state, the checksum's
+     * {@link java.security.MessageDigest} and its output buffer are kept per thread. Once warm a call allocates
+     * nothing itself; only the platform's SHA-256 could, and the JDK's does not.
+     *
+     * @param entropy 128-256 bits of entropy, number of bits must also be divisible by 32
+     * @param out     Where to write the mnemonic to
+     * @param offset  Where in out to start writing
+     * @return Number of chars written
+     * @throws IllegalArgumentException If the mnemonic does not fit, nothing is written
+     */
+    public int createMnemonic(
+            final byte[] entropy,
+            final char[] out,
+            final int offset) {
+        return createMnemonic(entropy, 0, entropy.length, out, offset);
+    }
+
+    /**
+     * As {@link #createMnemonic(byte[], char[], int)} for the entropy held in part of a larger array.
+     */
+    int createMnemonic(
+            final byte[] entropy,
+            final int entropyOffset,
+            final int entropyLength,
+            final char[] out,
+            final int offset) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            final int count = wordIndexes(entropy, entropyOffset, entropyLength, scratch);
+            final int length = mnemonicLength(scratch.wordIndexes, count);
+            if (offset < 0 || offset > out.length - length)
+                throw new IllegalArgumentException("Need " + length + " chars from offset " + offset);
+            int index = offset;
+            for (int i = 0; i < count; i++) {
+                if (i > 0) out[index++] = spaceChar;
+                final char[] word = words[scratch.wordIndexes[i]];
+                System.arraycopy(word, 0, out, index, word.length);
+                index += word.length;
+            }
+            return length;
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Create a mnemonic from the word list given the entropy, at the buffer's position, advancing it.
+     *
+     * @param entropy 128-256 bits of entropy, number of bits must also be divisible by 32
+     * @param out     Where to write the mnemonic to
+     * @return Number of chars written
+     * @throws BufferOverflowException If the mnemonic does not fit, nothing is written
+     * @see #createMnemonic(byte[], char[], int)
+     */
+    public int createMnemonic(
+            final byte[] entropy,
+            final CharBuffer out) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            final int count = wordIndexes(entropy, scratch);
+            final int length = mnemonicLength(scratch.wordIndexes, count);
+            if (out.remaining() < length)
+                throw new BufferOverflowException();
+            if (out.hasArray()) {
+                final char[] array = out.array();
+                int index = out.arrayOffset() + out.position();
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) array[index++] = spaceChar;
+                    final char[] word = words[scratch.wordIndexes[i]];
+                    System.arraycopy(word, 0, array, index, word.length);
+                    index += word.length;
+                }
+                out.position(out.position() + length);
+                return length;
+            }
+            for (int i = 0; i < count; i++) {
+                if (i > 0) out.put(spaceChar);
+                out.put(words[scratch.wordIndexes[i]]);
+            }
+            return length;
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Create a mnemonic from the word list given the entropy, as UTF-8 at the buffer's position, advancing it.
+     * <p>
+     * Bytes are copied from encodings of the words and space prepared once per word list.
+     *
+     * @param entropy 128-256 bits of entropy, number of bits must also be divisible by 32
+     * @param out     Where to write the UTF-8 encoded mnemonic to
+     * @return Number of bytes written
+     * @throws BufferOverflowException If the mnemonic does not fit, nothing is written
+     * @see MnemonicChannelWriter
+     */
+    public int createMnemonic(
+            final byte[] entropy,
+            final ByteBuffer out) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            final int count = wordIndexes(entropy, scratch);
+            int length = (count - 1) * utf8Space.length;
+            for (int i = 0; i < count; i++) {
+                length += utf8Words[scratch.wordIndexes[i]].length;
+            }
+            if (out.remaining() < length)
+                throw new BufferOverflowException();
+            for (int i = 0; i < count; i++) {
+                if (i > 0) out.put(utf8Space);
+                out.put(utf8Words[scratch.wordIndexes[i]]);
+            }
+            return length;
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * @return The most bytes {@link #createMnemonic(byte[], ByteBuffer)} can write, for 24 of the longest word.
+     */
+    int maxUtf8Length() {
+        int longest = 0;
+        for (final byte[] word : utf8Words) {
+            longest = Math.max(longest, word.length);
+        }
+        return MAX_WORDS * longest + (MAX_WORDS - 1) * utf8Space.length;
+    }
+
+    /**
+     * @return The most chars {@link #createMnemonic(byte[], char[], int)} can write for this many words.
+     */
+    int maxLength(final Words words) {
+        final int count = wordCount(words.bitLength());
+        int longest = 0;
+        for (final char[] word : this.words) {
+            longest = Math.max(longest, word.length);
+        }
+        return count * longest + count - 1;
+    }
+
+    static int wordCount(final int entropyBits) {
+        return (entropyBits + entropyBits / 32) / 11;
+    }
+
+    private int mnemonicLength(final int[] wordIndexes, final int count) {
+        int length = count - 1;
+        for (int i = 0; i < count; i++) {
+            length += words[wordIndexes[i]].length;
+        }
+        return length;
+    }
+
+    void createMnemonic(
             final int[] wordIndexes,
             final Target target) {
-        final String space = String.valueOf(wordList.getSpace());
         for (int i = 0; i < wordIndexes.length; i++) {
             if (i > 0) target.append(space);
             target.append(wordList.getWord(wordIndexes[i]));
         }
     }
 
-    private static int[] wordIndexes(byte[] entropy) {
-        final int ent = entropy.length * 8;
+    /**
+     * The word list indexes for the entropy followed by its checksum. Caller should clear them.
+     */
+    static int[] wordIndexes(byte[] entropy) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            final int count = wordIndexes(entropy, scratch);
+            return Arrays.copyOf(scratch.wordIndexes, count);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    /**
+     * Writes the word indexes for the entropy held in part of a larger array into part of another.
+     */
+    static void wordIndexes(final byte[] entropy, final int entropyOffset, final int entropyLength,
+                            final int[] out, final int offset) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            final int count = wordIndexes(entropy, entropyOffset, entropyLength, scratch);
+            System.arraycopy(scratch.wordIndexes, 0, out, offset, count);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private static int wordIndexes(final byte[] entropy, final Scratch scratch) {
+        return wordIndexes(entropy, 0, entropy.length, scratch);
+    }
+
+    /**
+     * Fills {@code scratch.wordIndexes}, returning how many words there are.
+     */
+    private static int wordIndexes(final byte[] entropy, final int entropyOffset, final int entropyLength,
+                                   final Scratch scratch) {
+        final int ent = entropyLength * 8;
         entropyLengthPreChecks(ent);
 
-        final byte[] entropyWithChecksum = Arrays.copyOf(entropy, entropy.length + 1);
-        entropyWithChecksum[entropy.length] = firstByteOfSha256(entropy);
+        final byte[] entropyWithChecksum = scratch.entropyWithChecksum;
+        System.arraycopy(entropy, entropyOffset, entropyWithChecksum, 0, entropyLength);
+        entropyWithChecksum[entropyLength] = (byte) Sha256.firstByte(entropy, entropyOffset, entropyLength);
 
-        //checksum length
-        final int cs = ent / 32;
         //mnemonic length
-        final int ms = (ent + cs) / 11;
+        final int ms = wordCount(ent);
 
         //get the indexes into the word list
-        final int[] wordIndexes = new int[ms];
+        final int[] wordIndexes = scratch.wordIndexes;
         for (int i = 0, wi = 0; wi < ms; i += 11, wi++) {
             wordIndexes[wi] = next11Bits(entropyWithChecksum, i);
         }
-        return wordIndexes;
+        return ms;
     }
 
-    static byte firstByteOfSha256(final byte[] entropy) {
-        final byte[] hash = sha256(entropy);
-        final byte firstByte = hash[0];
-        Arrays.fill(hash, (byte) 0);
-        return firstByte;
+    /**
+     * Per thread working buffers sized for the largest entropy, these hold secret values between uses.
+     */
+    private static final class Scratch {
+        private final byte[] entropyWithChecksum = new byte[MAX_ENTROPY_BYTES + 1];
+        private final int[] wordIndexes = new int[MAX_WORDS];
+
+        void clear() {
+            Arrays.fill(entropyWithChecksum, (byte) 0);
+            Arrays.fill(wordIndexes, 0);
+        }
     }
 
     private static void entropyLengthPreChecks(final int ent) {
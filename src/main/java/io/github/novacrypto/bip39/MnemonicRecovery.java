@@ -0,0 +1,453 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import io.github.novacrypto.toruntime.CheckedExceptionToRuntime;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.novacrypto.toruntime.CheckedExceptionToRuntime.toRuntime;
+
+/**
+ * Recovers mnemonics with some words missing, enumerating only the completions with a valid checksum.
+ * <p>
+ * The unknown words form a mixed radix counter, the last unknown changing fastest, so each candidate has a rank in
+ * [0, {@link #getSize()}). Each candidate is held packed in longs and moving to the next rewrites only the 11 bit
+ * fields that changed. When the last word is unknown and unconstrained only its free entropy bits are counted, and its
+ * checksum bits are computed, so every rank is a valid completion. Otherwise each candidate's checksum is tested.
+ * <p>
+ * Instances are immutable and thread safe.
+ */
+public final class MnemonicRecovery {
+
+    /**
+     * Receives each checksum valid completion.
+     * The array is reused for the next candidate, so copy anything needed and do not modify it.
+     */
+    public interface CandidateSink {
+        void accept(final long rank, final int[] wordIndexes);
+    }
+
+    static final String UNKNOWN = "?";
+
+    private final WordList wordList;
+    private final WordTrie words;
+    private final int[] template;
+    private final int[] unknownPositions;
+    private final int[][] candidates;
+    private final int checksumBits;
+    private final boolean computedChecksum;
+    private final int[] radix;
+    private final long size;
+    private volatile String fingerprint;
+
+    private MnemonicRecovery(final WordList wordList, final WordTrie words, final int[] template,
+                             final int[][] candidates) {
+        this.wordList = wordList;
+        this.words = words;
+        this.template = template;
+        this.candidates = candidates;
+        final int ms = template.length;
+        checksumBits = ms / 3;
+        unknownPositions = new int[candidates.length];
+        for (int i = 0, u = 0; i < ms; i++) {
+            if (template[i] < 0) unknownPositions[u++] = i;
+        }
+        final int unknowns = unknownPositions.length;
+        computedChecksum = unknowns > 0 && unknownPositions[unknowns - 1] == ms - 1 && candidates[unknowns - 1] == null;
+        radix = new int[unknowns];
+        long size = 1;
+        for (int u = 0; u < unknowns; u++) {
+            radix[u] = candidates[u] != null
+                    ? candidates[u].length
+                    : u == unknowns - 1 && computedChecksum ? 1 << (11 - checksumBits) : 1 << 11;
+            if (size > Long.MAX_VALUE / radix[u])
+                throw new IllegalArgumentException("Search space too large");
+            size *= radix[u];
+        }
+        this.size = size;
+    }
+
+    /**
+     * Create a recovery from a mnemonic with "?" in place of each missing word.
+     *
+     * @param wordList The word list of the mnemonic
+     * @param template The known words and "?" for each unknown, separated by spaces, 3 to 24 words, a multiple of 3
+     * @return A recovery where each unknown may be any word
+     */
+    public static MnemonicRecovery ofTemplate(final WordList wordList, final CharSequence template) {
+        final WordTrie words = new WordTrie(wordList);
+        final int[] templateIndexes = RecoveryWords.wordIndexes(words, wordList.getSpace(), template, true);
+        final int ms = templateIndexes.length;
+        if (ms % 3 != 0 || ms > 24)
+            throw new IllegalArgumentException("Not a correct number of words " + ms);
+        int unknowns = 0;
+        for (final int wordIndex : templateIndexes) {
+            if (wordIndex < 0) unknowns++;
+        }
+        return new MnemonicRecovery(wordList, words, templateIndexes, new int[unknowns][]);
+    }
+
+    /**
+     * Restrict one unknown word to a set of candidates, for example words that look like a smudged one.
+     *
+     * @param position   Zero based position of a "?" in the template
+     * @param candidates Words the unknown may be, duplicates are ignored
+     * @return A new recovery with the restriction added
+     */
+    public MnemonicRecovery withCandidates(final int position, final Collection<? extends CharSequence> candidates) {
+        final int u = Arrays.binarySearch(unknownPositions, position);
+        if (u < 0)
+            throw new IllegalArgumentException("Position " + position + " is not unknown");
+        final int[] wordIndexes = new int[candidates.size()];
+        int count = 0;
+        for (final CharSequence candidate : candidates) {
+            wordIndexes[count++] = RecoveryWords.wordIndex(words, candidate, 0, candidate.length(), position);
+        }
+        Arrays.sort(wordIndexes);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || wordIndexes[unique - 1] != wordIndexes[i])
+                wordIndexes[unique++] = wordIndexes[i];
+        }
+        if (unique == 0)
+            throw new IllegalArgumentException("No candidates for position " + position);
+        final int[][] newCandidates = this.candidates.clone();
+        newCandidates[u] = Arrays.copyOf(wordIndexes, unique);
+        return new MnemonicRecovery(wordList, words, template, newCandidates);
+    }
+
+    /**
+     * @return Number of ranks, the number of candidates enumerated
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return Number of words in the mnemonic
+     */
+    public int getWordCount() {
+        return template.length;
+    }
+
+    /**
+     * @return The whole search space
+     */
+    public RecoveryRange range() {
+        return range(0, size);
+    }
+
+    /**
+     * @param from First rank, inclusive
+     * @param to   Last rank, exclusive
+     * @return Part of the search space
+     */
+    public RecoveryRange range(final long from, final long to) {
+        if (from < 0 || to > size || from > to)
+            throw new IllegalArgumentException("Range [" + from + ", " + to + ") not within [0, " + size + ")");
+        return new RecoveryRange(this, from, to);
+    }
+
+    /**
+     * Visit every checksum valid completion, in parallel on a shared pool sized to the available processors.
+     *
+     * @see #forEachCandidate(CandidateSink, ForkJoinPool)
+     */
+    public long forEachCandidate(final CandidateSink sink) {
+        return forEachCandidate(sink, SharedPool.get());
+    }
+
+    /**
+     * Visit every checksum valid completion, in parallel.
+     *
+     * @param sink Receives each completion, called concurrently from the pool's threads, not in rank order
+     * @param pool The pool to search on
+     * @return Number of completions found
+     */
+    public long forEachCandidate(final CandidateSink sink, final ForkJoinPool pool) {
+        return forEachCandidate(range(), sink, pool);
+    }
+
+    /**
+     * Visit every checksum valid completion in part of the search space, in parallel.
+     *
+     * @param range The ranks to visit, consumed by this call
+     * @param sink  Receives each completion, called concurrently from the pool's threads, not in rank order
+     * @param pool  The pool to search on
+     * @return Number of completions found
+     */
+    public long forEachCandidate(final RecoveryRange range, final CandidateSink sink, final ForkJoinPool pool) {
+        return pool.invoke(new Task(range, SharedPool.leafSize(range.estimateSize(), pool.getParallelism()), sink,
+                new AtomicLong(-1)));
+    }
+
+    /**
+     * One of a number of contiguous, near equal parts of the search space, for dividing a search between processes
+     * or machines. Together the shards cover every rank exactly once.
+     *
+     * @param shard      Zero based shard number
+     * @param shardCount Number of shards
+     * @return The ranks of that shard
+     */
+    public RecoveryRange shard(final int shard, final int shardCount) {
+        if (shardCount < 1 || shard < 0 || shard >= shardCount)
+            throw new IllegalArgumentException("Shard " + shard + " of " + shardCount + " does not exist");
+        return range(shardStart(shard, shardCount), shardStart(shard + 1, shardCount));
+    }
+
+    private long shardStart(final int shard, final int shardCount) {
+        return size / shardCount * shard + Math.min(shard, size % shardCount);
+    }
+
+    /**
+     * The rank of a candidate, the inverse of {@link #unrank(long, int[])}.
+     *
+     * @param wordIndexes A candidate, which must match the template's known words and the unknowns' candidates
+     * @return Its rank
+     */
+    public long rank(final int[] wordIndexes) {
+        if (wordIndexes.length != template.length)
+            throw new IllegalArgumentException("Need " + template.length + " word indexes");
+        for (int i = 0; i < template.length; i++) {
+            if (template[i] >= 0 && template[i] != wordIndexes[i])
+                throw new IllegalArgumentException("Word " + i + " does not match the template");
+        }
+        long rank = 0;
+        for (int u = 0; u < unknownPositions.length; u++) {
+            final int wordIndex = wordIndexes[unknownPositions[u]];
+            final int digit;
+            if (candidates[u] != null) {
+                digit = Arrays.binarySearch(candidates[u], wordIndex);
+            } else if (computedChecksum && u == unknownPositions.length - 1) {
+                digit = wordIndex >>> checksumBits;
+            } else {
+                digit = wordIndex;
+            }
+            if (digit < 0 || digit >= radix[u])
+                throw new IllegalArgumentException("Word " + unknownPositions[u] + " is not a candidate");
+            rank = rank * radix[u] + digit;
+        }
+        return rank;
+    }
+
+    /**
+     * The candidate at a rank.
+     *
+     * @param rank        A rank in [0, {@link #getSize()})
+     * @param wordIndexes Receives the candidate's word indexes
+     * @return true iff the candidate's checksum is valid
+     */
+    public boolean unrank(final long rank, final int[] wordIndexes) {
+        if (wordIndexes.length < template.length)
+            throw new IllegalArgumentException("Need room for " + template.length + " word indexes");
+        final RecoveryRange range = range(rank, rank + 1);
+        final boolean valid = range.tryAdvance(new CandidateSink() {
+            @Override
+            public void accept(final long rank, final int[] candidate) {
+                System.arraycopy(candidate, 0, wordIndexes, 0, candidate.length);
+            }
+        });
+        if (!valid)
+            range.current(wordIndexes);
+        return valid;
+    }
+
+    /**
+     * Identifies the search space, so that a checkpoint is not resumed against a different one.
+     *
+     * @return Hex SHA-256 of every word and the space of the word list, the template and each unknown's candidates
+     */
+    String fingerprint() {
+        String fingerprint = this.fingerprint;
+        if (fingerprint == null) {
+            final MessageDigest digest = toRuntime(new CheckedExceptionToRuntime.Func<MessageDigest>() {
+                @Override
+                public MessageDigest run() throws Exception {
+                    return MessageDigest.getInstance("SHA-256");
+                }
+            });
+            final WordTables tables = WordTables.of(wordList);
+            for (final byte[] word : tables.utf8Words) {
+                update(digest, word.length);
+                digest.update(word);
+            }
+            update(digest, tables.utf8Space.length);
+            digest.update(tables.utf8Space);
+            update(digest, template.length);
+            for (final int wordIndex : template) {
+                update(digest, wordIndex);
+            }
+            for (final int[] unknownCandidates : candidates) {
+                if (unknownCandidates == null) {
+                    update(digest, -1);
+                    continue;
+                }
+                update(digest, unknownCandidates.length);
+                for (final int wordIndex : unknownCandidates) {
+                    update(digest, wordIndex);
+                }
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            fingerprint = sb.toString();
+            this.fingerprint = fingerprint;
+        }
+        return fingerprint;
+    }
+
+    private static void update(final MessageDigest digest, final int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    /**
+     * Find the completion whose seed matches, on a shared pool sized to the available processors.
+     *
+     * @see #findSeed(SeedCalculator, String, SeedPredicate, ForkJoinPool)
+     */
+    public String findSeed(final SeedCalculator seedCalculator, final String passphrase,
+                           final SeedPredicate predicate) {
+        return findSeed(seedCalculator, passphrase, predicate, SharedPool.get());
+    }
+
+    /**
+     * Find the completion whose seed matches.
+     * Only checksum valid completions have their seed calculated, from the word indexes without building a string.
+     * Stops soon after any thread finds a match.
+     *
+     * @param seedCalculator Calculates the seeds
+     * @param passphrase     The passphrase, use "" if not required
+     * @param predicate      Tests each seed, called concurrently
+     * @param pool           The pool to search on
+     * @return The mnemonic found to match, or null if none did
+     */
+    public String findSeed(final SeedCalculator seedCalculator, final String passphrase,
+                           final SeedPredicate predicate, final ForkJoinPool pool) {
+        final SeedMatchSink sink = new SeedMatchSink(seedCalculator, wordList, passphrase, predicate);
+        pool.invoke(new Task(range(), SharedPool.leafSize(size, pool.getParallelism()), sink, sink.found));
+        final int[] match = sink.getMatch();
+        return match == null ? null : RecoveryWords.toMnemonic(wordList, match);
+    }
+
+    /**
+     * @param rank A rank in [0, {@link #getSize()})
+     * @return The mnemonic at that rank, or null if its checksum is not valid
+     */
+    public String getMnemonic(final long rank) {
+        final RecoveryRange range = range(rank, rank + 1);
+        final int[][] mnemonic = new int[1][];
+        final boolean valid = range.tryAdvance(new CandidateSink() {
+            @Override
+            public void accept(final long rank, final int[] wordIndexes) {
+                mnemonic[0] = wordIndexes;
+            }
+        });
+        return valid ? RecoveryWords.toMnemonic(wordList, mnemonic[0]) : null;
+    }
+
+    int[] template() {
+        return template;
+    }
+
+    int unknownCount() {
+        return unknownPositions.length;
+    }
+
+    int radix(final int unknown) {
+        return radix[unknown];
+    }
+
+    /**
+     * Writes the word for one digit of the counter, leaving the checksum bits clear when they are to be computed.
+     */
+    void write(final int unknown, final int digit, final long[] bits, final int[] wordIndexes) {
+        final int[] unknownCandidates = candidates[unknown];
+        final int wordIndex = unknownCandidates != null
+                ? unknownCandidates[digit]
+                : computedChecksum && unknown == unknownPositions.length - 1 ? digit << checksumBits : digit;
+        final int position = unknownPositions[unknown];
+        wordIndexes[position] = wordIndex;
+        ByteUtils.write11(bits, wordIndex, position * 11);
+    }
+
+    /**
+     * Tests the checksum of the candidate, or fills it in if it is computed.
+     *
+     * @return true iff the candidate is a valid mnemonic
+     */
+    boolean checksum(final long[] bits, final int[] wordIndexes) {
+        final int ms = wordIndexes.length;
+        final int checksum = Sha256.firstByte(bits[0], bits[1], bits[2], bits[3], ms * 4 / 3) >>> (8 - checksumBits);
+        final int last = wordIndexes[ms - 1];
+        if (computedChecksum) {
+            wordIndexes[ms - 1] = last | checksum;
+            ByteUtils.write11(bits, last | checksum, (ms - 1) * 11);
+            return true;
+        }
+        return (last & (1 << checksumBits) - 1) == checksum;
+    }
+
+    private static final class Task extends RecursiveTask<Long> {
+        private final RecoveryRange range;
+        private final long leafSize;
+        private final CandidateSink sink;
+        private final AtomicLong found;
+
+        Task(final RecoveryRange range, final long leafSize, final CandidateSink sink, final AtomicLong found) {
+            this.range = range;
+            this.leafSize = leafSize;
+            this.sink = sink;
+            this.found = found;
+        }
+
+        @Override
+        protected Long compute() {
+            final List<Task> forked = new ArrayList<>();
+            RecoveryRange prefix;
+            while (range.estimateSize() > leafSize && (prefix = range.trySplit()) != null) {
+                final Task task = new Task(prefix, leafSize, sink, found);
+                task.fork();
+                forked.add(task);
+            }
+            long count = 0;
+            while (found.get() < 0 && range.tryAdvance(sink)) {
+                count++;
+            }
+            for (final Task task : forked) {
+                count += task.join();
+            }
+            return count;
+        }
+    }
+}
@@ -26,29 +26,36 @@ import io.github.novacrypto.bip39.Validation.InvalidWordCountException;
 import io.github.novacrypto.bip39.Validation.UnexpectedWhiteSpaceException;
 import io.github.novacrypto.bip39.Validation.WordNotFoundException;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
-import static io.github.novacrypto.bip39.MnemonicGenerator.firstByteOfSha256;
 import static io.github.novacrypto.bip39.Normalization.normalizeNFKD;
 
 /**
  * Contains function for validating Mnemonics against the BIP0039 spec.
  */
 public final class MnemonicValidator {
-    private final WordAndIndex[] words;
-    private final CharSequenceSplitter charSequenceSplitter;
-    private final NFKDNormalizer normalizer;
+    private final WordList wordList;
+    private final WordTrie words;
+    private final char separator1;
+    private final char separator2;
 
-    private MnemonicValidator(final WordList wordList) {
-        normalizer = new WordListMapNormalization(wordList);
-        words = new WordAndIndex[1 << 11];
-        for (int i = 0; i < 1 << 11; i++) {
-            words[i] = new WordAndIndex(i, wordList.getWord(i));
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
         }
-        charSequenceSplitter = new CharSequenceSplitter(wordList.getSpace(), normalizeNFKD(wordList.getSpace()));
-        Arrays.sort(words, wordListSortOrder);
+    };
+
+    private MnemonicValidator(final WordList wordList) {
+        this.wordList = wordList;
+        words = new WordTrie(wordList);
+        separator1 = wordList.getSpace();
+        separator2 = normalizeNFKD(wordList.getSpace());
     }
 
     /**
@@ -76,7 +83,9 @@ public final class MnemonicValidator {
             InvalidWordCountException,
             WordNotFoundException,
             UnexpectedWhiteSpaceException {
-        validate(charSequenceSplitter.split(mnemonic));
+        final int status = check(mnemonic);
+        throwForWord(status, mnemonic);
+        throwFor(status);
     }
 
     /**
@@ -96,95 +105,374 @@ public final class MnemonicValidator {
             InvalidWordCountException,
             WordNotFoundException,
             UnexpectedWhiteSpaceException {
-        final int[] wordIndexes = findWordIndexes(mnemonic);
+        final int status = check(mnemonic);
+        if (ValidationStatus.getOutcome(status) == ValidationStatus.WORD_NOT_FOUND) {
+            final Iterator<? extends CharSequence> iterator = mnemonic.iterator();
+            for (int i = ValidationStatus.getWordPosition(status); i > 0; i--) iterator.next();
+            final CharSequence word = iterator.next();
+            throw wordNotFound(word, 0, word.length());
+        }
+        throwFor(status);
+    }
+
+    /**
+     * Check that the supplied mnemonic fits the BIP0039 spec without throwing.
+     * <p>
+     * Failures are found in the same order {@link #validate(CharSequence)} would throw them, but nothing is
+     * allocated, which suits screening large volumes of input where most of it is invalid.
+     *
+     * @param mnemonic The memorable list of words
+     * @return A status, see {@link ValidationStatus}
+     */
+    public int check(final CharSequence mnemonic) {
+        final Scratch scratch = SCRATCH.get();
         try {
-            validate(wordIndexes);
+            final int wordCount = pack(mnemonic, scratch);
+            return wordCount < 0 ? ~wordCount : check(scratch.entropyWithChecksum, wordCount);
         } finally {
-            Arrays.fill(wordIndexes, 0);
+            scratch.clear();
         }
     }
 
-    private static void validate(final int[] wordIndexes) throws
-            InvalidWordCountException,
-            InvalidChecksumException {
-        final int ms = wordIndexes.length;
+    /**
+     * Packs the word indexes of a mnemonic into the scratch buffer.
+     *
+     * @return The number of words, or the complement of a failure status
+     */
+    private int pack(final CharSequence mnemonic, final Scratch scratch) {
+        final int length = mnemonic.length();
+        int wordCount = 0;
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length) {
+                final char c = mnemonic.charAt(i);
+                if (c != separator1 && c != separator2) continue;
+            }
+            if (start == i)
+                return ~ValidationStatus.of(ValidationStatus.UNEXPECTED_WHITE_SPACE, wordCount);
+            final int index = words.find(mnemonic, start, i);
+            if (index < 0)
+                return ~ValidationStatus.of(ValidationStatus.WORD_NOT_FOUND, wordCount);
+            scratch.append(wordCount++, index);
+            start = i + 1;
+        }
+        return wordCount;
+    }
 
-        final int entPlusCs = ms * 11;
-        final int ent = (entPlusCs * 32) / 33;
-        final int cs = ent / 32;
-        if (entPlusCs != ent + cs)
-            throw new InvalidWordCountException();
-        final byte[] entropyWithChecksum = new byte[(entPlusCs + 7) / 8];
+    /**
+     * Check that the supplied mnemonic fits the BIP0039 spec without throwing.
+     *
+     * @param mnemonic The memorable list of words
+     * @return A status, see {@link ValidationStatus}
+     */
+    public int check(final Collection<? extends CharSequence> mnemonic) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            int wordCount = 0;
+            for (final CharSequence word : mnemonic) {
+                final int length = word.length();
+                if (length == 0)
+                    return ValidationStatus.of(ValidationStatus.UNEXPECTED_WHITE_SPACE, wordCount);
+                final int index = words.find(word, 0, length);
+                if (index < 0)
+                    return ValidationStatus.of(ValidationStatus.WORD_NOT_FOUND, wordCount);
+                scratch.append(wordCount++, index);
+            }
+            return check(scratch.entropyWithChecksum, wordCount);
+        } finally {
+            scratch.clear();
+        }
+    }
 
-        wordIndexesToEntropyWithCheckSum(wordIndexes, entropyWithChecksum);
-        Arrays.fill(wordIndexes, 0);
+    private int check(final CharSequence[] mnemonic) {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            for (int wordCount = 0; wordCount < mnemonic.length; wordCount++) {
+                final CharSequence word = mnemonic[wordCount];
+                final int length = word.length();
+                if (length == 0)
+                    return ValidationStatus.of(ValidationStatus.UNEXPECTED_WHITE_SPACE, wordCount);
+                final int index = words.find(word, 0, length);
+                if (index < 0)
+                    return ValidationStatus.of(ValidationStatus.WORD_NOT_FOUND, wordCount);
+                scratch.append(wordCount, index);
+            }
+            return check(scratch.entropyWithChecksum, mnemonic.length);
+        } finally {
+            scratch.clear();
+        }
+    }
 
-        final byte[] entropy = Arrays.copyOf(entropyWithChecksum, entropyWithChecksum.length - 1);
-        final byte lastByte = entropyWithChecksum[entropyWithChecksum.length - 1];
-        Arrays.fill(entropyWithChecksum, (byte) 0);
+    /**
+     * Check many mnemonics in parallel on a shared pool sized to the available processors.
+     *
+     * @param mnemonics The mnemonics
+     * @param statuses  Receives the status of mnemonic i in slot i, see {@link ValidationStatus}
+     * @return Outcome counts and throughput of the batch
+     * @see #checkAll(CharSequence[], int[], ForkJoinPool)
+     */
+    public BatchValidationSummary checkAll(final CharSequence[] mnemonics, final int[] statuses) {
+        return checkAll(mnemonics, statuses, SharedPool.get());
+    }
 
-        final byte sha = firstByteOfSha256(entropy);
+    /**
+     * Check many mnemonics in parallel.
+     * Each worker thread uses its own scratch buffer and no exceptions are created.
+     *
+     * @param mnemonics The mnemonics
+     * @param statuses  Receives the status of mnemonic i in slot i, see {@link ValidationStatus}
+     * @param pool      The pool to check on
+     * @return Outcome counts and throughput of the batch
+     */
+    public BatchValidationSummary checkAll(final CharSequence[] mnemonics,
+                                           final int[] statuses,
+                                           final ForkJoinPool pool) {
+        return checkAll(new ValidationBatchTask.Items() {
+            @Override
+            public int check(final int i) {
+                return MnemonicValidator.this.check(mnemonics[i]);
+            }
+        }, mnemonics.length, statuses, pool);
+    }
+
+    /**
+     * Check many mnemonics in parallel on a shared pool sized to the available processors.
+     *
+     * @see #checkAll(CharSequence[], int[], ForkJoinPool)
+     */
+    public BatchValidationSummary checkAll(final List<? extends CharSequence> mnemonics, final int[] statuses) {
+        return checkAll(mnemonics, statuses, SharedPool.get());
+    }
+
+    /**
+     * Check many mnemonics in parallel.
+     *
+     * @see #checkAll(CharSequence[], int[], ForkJoinPool)
+     */
+    public BatchValidationSummary checkAll(final List<? extends CharSequence> mnemonics,
+                                           final int[] statuses,
+                                           final ForkJoinPool pool) {
+        return checkAll(mnemonics.toArray(new CharSequence[mnemonics.size()]), statuses, pool);
+    }
+
+    /**
+     * Check many mnemonics that have already been split into words, in parallel on a shared pool sized to the
+     * available processors.
+     *
+     * @see #checkAll(CharSequence[][], int[], ForkJoinPool)
+     */
+    public BatchValidationSummary checkAll(final CharSequence[][] mnemonics, final int[] statuses) {
+        return checkAll(mnemonics, statuses, SharedPool.get());
+    }
+
+    /**
+     * Check many mnemonics that have already been split into words, in parallel.
+     *
+     * @param mnemonics The words of each mnemonic
+     * @param statuses  Receives the status of mnemonic i in slot i, see {@link ValidationStatus}
+     * @param pool      The pool to check on
+     * @return Outcome counts and throughput of the batch
+     */
+    public BatchValidationSummary checkAll(final CharSequence[][] mnemonics,
+                                           final int[] statuses,
+                                           final ForkJoinPool pool) {
+        return checkAll(new ValidationBatchTask.Items() {
+            @Override
+            public int check(final int i) {
+                return MnemonicValidator.this.check(mnemonics[i]);
+            }
+        }, mnemonics.length, statuses, pool);
+    }
+
+    private static BatchValidationSummary checkAll(final ValidationBatchTask.Items items,
+                                                   final int count,
+                                                   final int[] statuses,
+                                                   final ForkJoinPool pool) {
+        if (statuses.length < count)
+            throw new IllegalArgumentException("Need one status slot per mnemonic");
+        final int parallelism = pool.getParallelism();
+        final long start = System.nanoTime();
+        final int[] counts = pool.invoke(new ValidationBatchTask(items, statuses,
+                0, count, SharedPool.leafSize(count, parallelism)));
+        return new BatchValidationSummary(counts, new BatchStatistics(count, System.nanoTime() - start, parallelism));
+    }
+
+    private static int check(final byte[] entropyWithChecksum, final int ms) {
+        if (ms == 0 || ms % 3 != 0 || ms > 24)
+            return ValidationStatus.INVALID_WORD_COUNT;
+        final int entPlusCs = ms * 11;
+        final int cs = ms / 3;
+        final int length = (entPlusCs + 7) / 8;
+
+        final byte lastByte = entropyWithChecksum[length - 1];
+        final byte sha = (byte) Sha256.firstByte(entropyWithChecksum, 0, length - 1);
 
         final byte mask = maskOfFirstNBits(cs);
 
         if (((sha ^ lastByte) & mask) != 0)
-            throw new InvalidChecksumException();
+            return ValidationStatus.INVALID_CHECKSUM;
+        return ValidationStatus.VALID;
     }
 
-    private int[] findWordIndexes(final Collection<? extends CharSequence> split) throws
-            UnexpectedWhiteSpaceException,
-            WordNotFoundException {
-        final int ms = split.size();
-        final int[] result = new int[ms];
-        int i = 0;
-        for (final CharSequence buffer : split) {
-            if (buffer.length() == 0) {
-                throw new UnexpectedWhiteSpaceException();
+    /**
+     * Finds every last word that completes a mnemonic with a valid checksum.
+     * <p>
+     * The known words are packed once, then each value of the free entropy bits in the last word is tried, so this
+     * takes 128 checksums for a 12 word mnemonic and 8 for 24.
+     *
+     * @param partialMnemonic All but the last word of a mnemonic of 3 to 24 words, a multiple of 3
+     * @param wordIndexes     Receives the word list indexes of the valid last words in ascending order, needs room for
+     *                        2<sup>11 - checksum bits</sup>, e.g. 128 for 12 words and 8 for 24
+     * @return The number of indexes written
+     * @throws InvalidWordCountException     If one more word would not make a valid word count
+     * @throws WordNotFoundException         If a word in the partial mnemonic is not present in the word list
+     * @throws UnexpectedWhiteSpaceException Occurs if one of the supplied words is empty, e.g. a double space
+     */
+    public int findLastWords(final CharSequence partialMnemonic, final int[] wordIndexes) throws
+            InvalidWordCountException,
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        final Scratch scratch = SCRATCH.get();
+        try {
+            final int wordCount = pack(partialMnemonic, scratch);
+            if (wordCount < 0)
+                throwForWord(~wordCount, partialMnemonic);
+            final int ms = wordCount + 1;
+            if (ms % 3 != 0 || ms > 24)
+                throw new InvalidWordCountException();
+            final int cs = ms / 3;
+            final int freeBits = 11 - cs;
+            final int candidates = 1 << freeBits;
+            if (wordIndexes.length < candidates)
+                throw new IllegalArgumentException("Need room for " + candidates + " word indexes");
+
+            final byte[] entropy = scratch.entropyWithChecksum;
+            final int entropyLength = ms * 4 / 3;
+            final int high = entropyLength - 2;
+            final int low = entropyLength - 1;
+            final int fixedBits = ((entropy[high] & 0xff) << 8 | entropy[low] & 0xff) & ~(candidates - 1);
+            for (int free = 0; free < candidates; free++) {
+                final int lastTwoBytes = fixedBits | free;
+                entropy[high] = (byte) (lastTwoBytes >>> 8);
+                entropy[low] = (byte) lastTwoBytes;
+                final int checksum = Sha256.firstByte(entropy, 0, entropyLength) >>> (8 - cs);
+                wordIndexes[free] = free << cs | checksum;
             }
-            result[i++] = findWordIndex(buffer);
+            return candidates;
+        } finally {
+            scratch.clear();
         }
-        return result;
     }
 
-    private int findWordIndex(final CharSequence buffer) throws WordNotFoundException {
-        final WordAndIndex key = new WordAndIndex(-1, buffer);
-        final int index = Arrays.binarySearch(words, key, wordListSortOrder);
-        if (index < 0) {
-            final int insertionPoint = -index - 1;
-            int suggestion = insertionPoint == 0 ? insertionPoint : insertionPoint - 1;
-            if (suggestion + 1 == words.length) suggestion--;
-            throw new WordNotFoundException(buffer, words[suggestion].word, words[suggestion + 1].word);
+    /**
+     * Finds every last word that completes a mnemonic with a valid checksum.
+     *
+     * @param partialMnemonic All but the last word of a mnemonic of 3 to 24 words, a multiple of 3
+     * @return The valid last words in word list order
+     * @throws InvalidWordCountException     If one more word would not make a valid word count
+     * @throws WordNotFoundException         If a word in the partial mnemonic is not present in the word list
+     * @throws UnexpectedWhiteSpaceException Occurs if one of the supplied words is empty, e.g. a double space
+     * @see #findLastWords(CharSequence, int[])
+     */
+    public List<String> findLastWords(final CharSequence partialMnemonic) throws
+            InvalidWordCountException,
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        final int[] wordIndexes = new int[1 << 10];
+        final int count = findLastWords(partialMnemonic, wordIndexes);
+        final List<String> lastWords = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lastWords.add(wordList.getWord(wordIndexes[i]));
+        }
+        return lastWords;
+    }
+
+    private void throwForWord(final int status, final CharSequence mnemonic) throws
+            WordNotFoundException,
+            UnexpectedWhiteSpaceException {
+        switch (ValidationStatus.getOutcome(status)) {
+            case ValidationStatus.WORD_NOT_FOUND:
+                final int start = wordStart(mnemonic, ValidationStatus.getWordPosition(status));
+                throw wordNotFound(mnemonic, start, wordEnd(mnemonic, start));
+            case ValidationStatus.UNEXPECTED_WHITE_SPACE:
+                throw new UnexpectedWhiteSpaceException();
+            default:
+        }
+    }
+
+    private static void throwFor(final int status) throws
+            InvalidChecksumException,
+            InvalidWordCountException,
+            UnexpectedWhiteSpaceException {
+        switch (ValidationStatus.getOutcome(status)) {
+            case ValidationStatus.INVALID_WORD_COUNT:
+                throw new InvalidWordCountException();
+            case ValidationStatus.UNEXPECTED_WHITE_SPACE:
+                throw new UnexpectedWhiteSpaceException();
+            case ValidationStatus.INVALID_CHECKSUM:
+                throw new InvalidChecksumException();
+            default:
+        }
+    }
 
+    private int wordStart(final CharSequence mnemonic, final int position) {
+        int start = 0;
+        for (int word = 0; word < position; word++) {
+            start = wordEnd(mnemonic, start) + 1;
         }
-        return words[index].index;
+        return start;
     }
 
-    private static void wordIndexesToEntropyWithCheckSum(final int[] wordIndexes, final byte[] entropyWithChecksum) {
-        for (int i = 0, bi = 0; i < wordIndexes.length; i++, bi += 11) {
-            ByteUtils.writeNext11(entropyWithChecksum, wordIndexes[i], bi);
+    private int wordEnd(final CharSequence mnemonic, final int start) {
+        final int length = mnemonic.length();
+        int end = start;
+        while (end < length) {
+            final char c = mnemonic.charAt(end);
+            if (c == separator1 || c == separator2) break;
+            end++;
         }
+        return end;
+    }
+
+    private WordNotFoundException wordNotFound(final CharSequence mnemonic, final int start, final int end) {
+        final CharSequence word = start == 0 && end == mnemonic.length()
+                ? mnemonic
+                : mnemonic.subSequence(start, end);
+        final int insertionPoint = -words.find(mnemonic, start, end) - 1;
+        int suggestion = insertionPoint == 0 ? insertionPoint : insertionPoint - 1;
+        if (suggestion + 1 == 1 << 11) suggestion--;
+        return new WordNotFoundException(word,
+                wordList.getWord(words.indexAtRank(suggestion)),
+                wordList.getWord(words.indexAtRank(suggestion + 1)));
     }
 
     private static byte maskOfFirstNBits(final int n) {
         return (byte) ~((1 << (8 - n)) - 1);
     }
 
-    private static final Comparator<WordAndIndex> wordListSortOrder = new Comparator<WordAndIndex>() {
-        @Override
-        public int compare(final WordAndIndex o1, final WordAndIndex o2) {
-            return CharSequenceComparators.ALPHABETICAL.compare(o1.normalized, o2.normalized);
-        }
-    };
+    /**
+     * Per thread buffer the 11 bit word indexes are packed into. Sized for 24 words, it only grows for longer input,
+     * which is then rejected on word count.
+     */
+    private static final class Scratch {
+        private static final int DEFAULT_SIZE = 33;
 
-    private class WordAndIndex {
-        final CharSequence word;
-        final String normalized;
-        final int index;
+        private byte[] entropyWithChecksum = new byte[DEFAULT_SIZE];
 
-        WordAndIndex(final int i, final CharSequence word) {
-            this.word = word;
-            normalized = normalizer.normalize(word);
-            index = i;
+        void append(final int wordNumber, final int wordIndex) {
+            final int bitOffset = wordNumber * 11;
+            final int needed = (bitOffset + 11 + 7) / 8;
+            if (needed > entropyWithChecksum.length) {
+                entropyWithChecksum = Arrays.copyOf(entropyWithChecksum, 2 * needed);
+            }
+            ByteUtils.writeNext11(entropyWithChecksum, wordIndex, bitOffset);
+        }
+
+        void clear() {
+            Arrays.fill(entropyWithChecksum, (byte) 0);
+            if (entropyWithChecksum.length > DEFAULT_SIZE) {
+                entropyWithChecksum = new byte[DEFAULT_SIZE];
+            }
         }
     }
-}
\ No newline at end of file
+}
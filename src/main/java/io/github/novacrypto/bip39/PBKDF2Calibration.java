@@ -0,0 +1,242 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of checking a set of {@link PBKDF2WithHmacSHA512} backends against BIP39 test vectors and timing them.
+ * <p>
+ * Backends that throw or disagree with any vector are rejected, the fastest of the rest is selected.
+ */
+public final class PBKDF2Calibration {
+
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int TIMED_ROUNDS = 3;
+
+    private static final String[][] VECTORS = {
+            {
+                    "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about",
+                    "TREZOR",
+                    "c55257c360c07c72029aebc1b53c05ed0362ada38ead3e3e9efa3708e53495531f09a6987599d18264c1e1c92f2cf1" +
+                            "41630c7a3c4ab7c81b2f001698e7463b04"
+            },
+            {
+                    "legal winner thank year wave sausage worth useful legal winner thank yellow",
+                    "TREZOR",
+                    "2e8905819b8723fe2c1d161860e5ee1830318dbf49a83bd451cfb8440c28bd6fa457fe1296106559a3c80937a1c1069b" +
+                            "e3a3a5bd381ee6260e8d9739fce1f607"
+            },
+            {
+                    "implorer visage sonnette voyage v\u00e9loce pourpre volaille tribunal implorer visage sonnette" +
+                            " voyelle",
+                    "TREZOR",
+                    "ab9180b7dfdde74e5cf8781e5692e2c0b55afa8bc1987fa8e14e3fb83c88b195c53e9f939f8febc33d2958f5fcd8add" +
+                            "57843cb318d8886130ef9c9879c826357"
+            }
+    };
+
+    private final PBKDF2WithHmacSHA512 selected;
+    private final Map<PBKDF2WithHmacSHA512, Long> nanosPerSeed;
+    private final Map<PBKDF2WithHmacSHA512, String> rejected;
+    private final String failure;
+
+    private PBKDF2Calibration(final PBKDF2WithHmacSHA512 selected,
+                              final Map<PBKDF2WithHmacSHA512, Long> nanosPerSeed,
+                              final Map<PBKDF2WithHmacSHA512, String> rejected,
+                              final String failure) {
+        this.selected = selected;
+        this.failure = failure;
+        this.nanosPerSeed = Collections.unmodifiableMap(nanosPerSeed);
+        this.rejected = Collections.unmodifiableMap(rejected);
+    }
+
+    /**
+     * Checks and times every backend supplied by this library except {@link JavaxMacPBKDF2WithHmacSHA512}, which
+     * measured slowest.
+     *
+     * @return The calibration result.
+     */
+    public static PBKDF2Calibration run() {
+        return run(libraryBackends());
+    }
+
+    /**
+     * As {@link #run(List)}, but if that fails selects {@link PureJavaPBKDF2WithHmacSHA512}, which needs nothing from
+     * the platform, recording why in {@link #toString()}.
+     */
+    static PBKDF2Calibration runOrFallBack(final List<? extends PBKDF2WithHmacSHA512> candidates) {
+        try {
+            return run(candidates);
+        } catch (RuntimeException | LinkageError e) {
+            return new PBKDF2Calibration(PureJavaPBKDF2WithHmacSHA512.INSTANCE,
+                    Collections.<PBKDF2WithHmacSHA512, Long>emptyMap(),
+                    Collections.<PBKDF2WithHmacSHA512, String>emptyMap(),
+                    e.toString());
+        }
+    }
+
+    static List<PBKDF2WithHmacSHA512> libraryBackends() {
+        return Arrays.<PBKDF2WithHmacSHA512>asList(
+                SpongyCastlePBKDF2WithHmacSHA512.INSTANCE,
+                JavaxPBKDF2WithHmacSHA512.INSTANCE,
+                PureJavaPBKDF2WithHmacSHA512.INSTANCE);
+    }
+
+    /**
+     * Checks and times the supplied backends.
+     *
+     * @param candidates Backends to consider, in order of preference when equally fast.
+     * @return The calibration result.
+     */
+    public static PBKDF2Calibration run(final List<? extends PBKDF2WithHmacSHA512> candidates) {
+        final Map<PBKDF2WithHmacSHA512, Long> nanosPerSeed = new LinkedHashMap<>();
+        final Map<PBKDF2WithHmacSHA512, String> rejected = new LinkedHashMap<>();
+        final List<PBKDF2WithHmacSHA512> passed = new ArrayList<>();
+        for (final PBKDF2WithHmacSHA512 candidate : candidates) {
+            try {
+                final String mismatch = verify(candidate);
+                if (mismatch != null) {
+                    rejected.put(candidate, mismatch);
+                    continue;
+                }
+                warmUp(candidate);
+            } catch (RuntimeException | LinkageError e) {
+                rejected.put(candidate, e.toString());
+                continue;
+            }
+            passed.add(candidate);
+        }
+        for (final PBKDF2WithHmacSHA512 candidate : passed) {
+            nanosPerSeed.put(candidate, Long.MAX_VALUE);
+        }
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            for (final PBKDF2WithHmacSHA512 candidate : passed) {
+                if (!nanosPerSeed.containsKey(candidate))
+                    continue;
+                try {
+                    nanosPerSeed.put(candidate, Math.min(nanosPerSeed.get(candidate), time(candidate)));
+                } catch (RuntimeException | LinkageError e) {
+                    nanosPerSeed.remove(candidate);
+                    rejected.put(candidate, e.toString());
+                }
+            }
+        }
+        PBKDF2WithHmacSHA512 selected = null;
+        long best = Long.MAX_VALUE;
+        for (final Map.Entry<PBKDF2WithHmacSHA512, Long> entry : nanosPerSeed.entrySet()) {
+            if (entry.getValue() < best || selected == null) {
+                best = entry.getValue();
+                selected = entry.getKey();
+            }
+        }
+        if (selected == null)
+            throw new RuntimeException("No PBKDF2WithHmacSHA512 implementation passed the test vectors " + rejected);
+        return new PBKDF2Calibration(selected, nanosPerSeed, rejected, null);
+    }
+
+    private static String verify(final PBKDF2WithHmacSHA512 candidate) {
+        final SeedCalculator seedCalculator = new SeedCalculator(candidate);
+        for (final String[] vector : VECTORS) {
+            final byte[] seed = seedCalculator.calculateSeed(vector[0], vector[1]);
+            if (!Arrays.equals(seed, fromHex(vector[2])))
+                return "Wrong seed for \"" + vector[0] + "\"";
+        }
+        return null;
+    }
+
+    /**
+     * Every backend is warmed up before any is timed, so that none is timed while the JIT is still busy with another.
+     */
+    private static void warmUp(final PBKDF2WithHmacSHA512 candidate) {
+        final SeedCalculator seedCalculator = new SeedCalculator(candidate);
+        final String[] vector = VECTORS[0];
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            seedCalculator.calculateSeed(vector[0], vector[1]);
+        }
+    }
+
+    /**
+     * Times one seed; {@link #run(List)} interleaves the rounds across the backends.
+     */
+    private static long time(final PBKDF2WithHmacSHA512 candidate) {
+        final SeedCalculator seedCalculator = new SeedCalculator(candidate);
+        final String[] vector = VECTORS[0];
+        final long start = System.nanoTime();
+        seedCalculator.calculateSeed(vector[0], vector[1]);
+        return System.nanoTime() - start;
+    }
+
+    private static byte[] fromHex(final String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return The fastest backend that passed the test vectors.
+     */
+    public PBKDF2WithHmacSHA512 getSelected() {
+        return selected;
+    }
+
+    /**
+     * @return Best observed time for one seed, for each backend that passed, in the order they were tried.
+     */
+    public Map<PBKDF2WithHmacSHA512, Long> getNanosPerSeed() {
+        return nanosPerSeed;
+    }
+
+    /**
+     * @return Reason for each backend that was rejected.
+     */
+    public Map<PBKDF2WithHmacSHA512, String> getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        final List<String> timings = new ArrayList<>(nanosPerSeed.size());
+        for (final Map.Entry<PBKDF2WithHmacSHA512, Long> entry : nanosPerSeed.entrySet()) {
+            timings.add(String.format("%s %.3f ms", name(entry.getKey()), entry.getValue() / 1e6));
+        }
+        final List<String> reasons = new ArrayList<>(rejected.size());
+        for (final Map.Entry<PBKDF2WithHmacSHA512, String> entry : rejected.entrySet()) {
+            reasons.add(name(entry.getKey()) + ": " + entry.getValue());
+        }
+        return "Selected " + name(selected) + " " + timings + (reasons.isEmpty() ? "" : ", rejected " + reasons) +
+                (failure == null ? "" : ", calibration failed: " + failure);
+    }
+
+    private static String name(final PBKDF2WithHmacSHA512 backend) {
+        return backend instanceof Enum
+                ? ((Enum<?>) backend).getDeclaringClass().getSimpleName()
+                : backend.toString();
+    }
+}
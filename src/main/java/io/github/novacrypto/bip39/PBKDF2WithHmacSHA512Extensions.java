@@ -0,0 +1,183 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+/**
+ * The paths {@link SeedCalculator} takes beyond {@link PBKDF2WithHmacSHA512#hash(char[], byte[])}, kept out of the
+ * algorithms' public API.
+ * <p>
+ * {@link #of} is the one place an algorithm's type is looked at. The base implementation suits any algorithm; the
+ * algorithms in this library that can do better have their own, and {@link CalibratedPBKDF2WithHmacSHA512} uses
+ * whichever its selected backend has.
+ */
+class PBKDF2WithHmacSHA512Extensions {
+
+    private static final PBKDF2WithHmacSHA512Extensions PURE_JAVA =
+            new PBKDF2WithHmacSHA512Extensions(PureJavaPBKDF2WithHmacSHA512.INSTANCE) {
+                @Override
+                byte[] hash(final char[] chars, final byte[] salt, final Cancellation cancellation) {
+                    return PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash(chars, salt, cancellation);
+                }
+
+                @Override
+                void hash(final char[] chars, final byte[] salt, final ByteBuffer out) {
+                    PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash(chars, salt, out);
+                }
+
+                @Override
+                void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+                    PureJavaPBKDF2WithHmacSHA512.INSTANCE.hashUtf8(password, salt, out, offset);
+                }
+
+                @Override
+                byte[][] hash(final char[][] chars, final byte[][] salts) {
+                    return PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash(chars, salts);
+                }
+            };
+
+    private static final PBKDF2WithHmacSHA512Extensions SPONGY_CASTLE =
+            new PBKDF2WithHmacSHA512Extensions(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE) {
+                @Override
+                void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+                    SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hashUtf8(password, salt, out, offset);
+                }
+            };
+
+    private static final PBKDF2WithHmacSHA512Extensions JAVAX_MAC =
+            new PBKDF2WithHmacSHA512Extensions(JavaxMacPBKDF2WithHmacSHA512.INSTANCE) {
+                @Override
+                void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+                    JavaxMacPBKDF2WithHmacSHA512.INSTANCE.hashUtf8(password, salt, out, offset);
+                }
+            };
+
+    /**
+     * Looks up the selected backend on each call, so that calibration still only runs on first use.
+     */
+    private static final PBKDF2WithHmacSHA512Extensions CALIBRATED =
+            new PBKDF2WithHmacSHA512Extensions(CalibratedPBKDF2WithHmacSHA512.INSTANCE) {
+                @Override
+                void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset) {
+                    selected().hash(chars, salt, out, offset);
+                }
+
+                @Override
+                byte[] hash(final char[] chars, final byte[] salt, final Cancellation cancellation) {
+                    return selected().hash(chars, salt, cancellation);
+                }
+
+                @Override
+                void hash(final char[] chars, final byte[] salt, final ByteBuffer out) {
+                    selected().hash(chars, salt, out);
+                }
+
+                @Override
+                void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+                    selected().hashUtf8(password, salt, out, offset);
+                }
+
+                @Override
+                byte[][] hash(final char[][] chars, final byte[][] salts) {
+                    return selected().hash(chars, salts);
+                }
+
+                private PBKDF2WithHmacSHA512Extensions selected() {
+                    return of(CalibratedPBKDF2WithHmacSHA512.INSTANCE.getCalibration().getSelected());
+                }
+            };
+
+    private final PBKDF2WithHmacSHA512 hashAlgorithm;
+
+    private PBKDF2WithHmacSHA512Extensions(final PBKDF2WithHmacSHA512 hashAlgorithm) {
+        this.hashAlgorithm = hashAlgorithm;
+    }
+
+    static PBKDF2WithHmacSHA512Extensions of(final PBKDF2WithHmacSHA512 hashAlgorithm) {
+        if (hashAlgorithm == PureJavaPBKDF2WithHmacSHA512.INSTANCE) return PURE_JAVA;
+        if (hashAlgorithm == SpongyCastlePBKDF2WithHmacSHA512.INSTANCE) return SPONGY_CASTLE;
+        if (hashAlgorithm == JavaxMacPBKDF2WithHmacSHA512.INSTANCE) return JAVAX_MAC;
+        if (hashAlgorithm == CalibratedPBKDF2WithHmacSHA512.INSTANCE) return CALIBRATED;
+        return new PBKDF2WithHmacSHA512Extensions(hashAlgorithm);
+    }
+
+    /**
+     * Writes into out directly where the algorithm supports it, otherwise copies and clears its result.
+     */
+    void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset) {
+        if (hashAlgorithm instanceof PBKDF2WithHmacSHA512ToBuffer) {
+            ((PBKDF2WithHmacSHA512ToBuffer) hashAlgorithm).hash(chars, salt, out, offset);
+            return;
+        }
+        HmacSha512.checkRoom(out, offset);
+        final byte[] encoded = hashAlgorithm.hash(chars, salt);
+        System.arraycopy(encoded, 0, out, offset, encoded.length);
+        Arrays.fill(encoded, (byte) 0);
+    }
+
+    /**
+     * Stops between iterations where the algorithm supports it, otherwise only checks before starting.
+     */
+    byte[] hash(final char[] chars, final byte[] salt, final Cancellation cancellation) {
+        if (cancellation.isCancelled())
+            throw new CancellationException("Seed calculation cancelled");
+        return hashAlgorithm.hash(chars, salt);
+    }
+
+    /**
+     * Writes at the buffer's position, advancing it, directly where the algorithm supports it, otherwise copies and
+     * clears its result.
+     */
+    void hash(final char[] chars, final byte[] salt, final ByteBuffer out) {
+        final byte[] encoded = hashAlgorithm.hash(chars, salt);
+        out.put(encoded);
+        Arrays.fill(encoded, (byte) 0);
+    }
+
+    /**
+     * Hands the UTF-8 password straight to the algorithms that key on bytes, others get it decoded to chars.
+     */
+    void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+        final char[] chars = Utf8.decode(password);
+        try {
+            hash(chars, salt, out, offset);
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    /**
+     * Hands the passwords over together where the algorithm supports it, otherwise hashes them one by one.
+     */
+    byte[][] hash(final char[][] chars, final byte[][] salts) {
+        if (salts.length != chars.length)
+            throw new IllegalArgumentException("Need one salt per password");
+        final byte[][] hashed = new byte[chars.length][];
+        for (int i = 0; i < chars.length; i++) {
+            hashed[i] = hashAlgorithm.hash(chars[i], salts[i]);
+        }
+        return hashed;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+/**
+ * A {@link PBKDF2WithHmacSHA512} that can write the derived key into a caller supplied buffer.
+ * All implementations in this library are one; {@link SeedCalculator} copies and clears for any that are not.
+ */
+public interface PBKDF2WithHmacSHA512ToBuffer extends PBKDF2WithHmacSHA512 {
+
+    /**
+     * As {@link #hash(char[], byte[])} but writes the 64 byte derived key into out, making no other copy of it.
+     *
+     * @param chars  Password
+     * @param salt   Salt
+     * @param out    Receives the derived key
+     * @param offset Where in out to write the 64 bytes
+     * @throws IllegalArgumentException If out does not have 64 bytes from offset, nothing is written
+     */
+    void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset);
+}
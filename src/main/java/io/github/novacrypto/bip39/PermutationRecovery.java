@@ -0,0 +1,247 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recovers the order of a mnemonic whose words are all known.
+ * <p>
+ * Orderings are enumerated with Heap's algorithm, each one a single swap from the last, so only the two swapped 11 bit
+ * fields of the packed candidate are rewritten before its checksum is tested. The search is sharded on the first two
+ * words, n &times; (n - 1) shards each covering (n - 2)! orderings, and the shards run in parallel.
+ * <p>
+ * A word that appears more than once gives some orderings more than once. Instances are immutable and thread safe.
+ */
+public final class PermutationRecovery {
+
+    private static final int PREFIX = 2;
+    private static final int MAX_WORDS = 18;
+    private static final int PROGRESS_INTERVAL = 1 << 16;
+
+    private final WordList wordList;
+    private final int[] words;
+    private final int checksumBits;
+    private final long shardSize;
+
+    private PermutationRecovery(final WordList wordList, final int[] words) {
+        this.wordList = wordList;
+        this.words = words;
+        checksumBits = words.length / 3;
+        shardSize = factorial(words.length - PREFIX);
+    }
+
+    /**
+     * @param wordList The word list of the mnemonic
+     * @param words    All the words of the mnemonic in any order, separated by spaces, 3 to 18 words, a multiple of 3
+     * @return A recovery over every ordering of the words
+     */
+    public static PermutationRecovery ofWords(final WordList wordList, final CharSequence words) {
+        final int[] indexes = RecoveryWords.wordIndexes(new WordTrie(wordList), wordList.getSpace(), words, false);
+        final int ms = indexes.length;
+        if (ms % 3 != 0)
+            throw new IllegalArgumentException("Not a correct number of words " + ms);
+        if (ms > MAX_WORDS)
+            throw new IllegalArgumentException("Too many orderings of " + ms + " words to search");
+        return new PermutationRecovery(wordList, indexes);
+    }
+
+    /**
+     * @return Number of orderings searched, n!
+     */
+    public long getSize() {
+        return shardSize * getShardCount();
+    }
+
+    /**
+     * @return Number of shards the search is split into, n &times; (n - 1)
+     */
+    public int getShardCount() {
+        return words.length * (words.length - 1);
+    }
+
+    /**
+     * Visit every ordering with a valid checksum, in parallel on a shared pool sized to the available processors.
+     *
+     * @see #forEachCandidate(MnemonicRecovery.CandidateSink, SearchProgress, ForkJoinPool)
+     */
+    public long forEachCandidate(final MnemonicRecovery.CandidateSink sink, final SearchProgress progress) {
+        return forEachCandidate(sink, progress, SharedPool.get());
+    }
+
+    /**
+     * Visit every ordering with a valid checksum, in parallel.
+     *
+     * @param sink     Receives each ordering with its position in the search order, called concurrently
+     * @param progress Updated as the search runs, may be polled from another thread
+     * @param pool     The pool to search on
+     * @return Number of orderings with a valid checksum
+     */
+    public long forEachCandidate(final MnemonicRecovery.CandidateSink sink, final SearchProgress progress,
+                                 final ForkJoinPool pool) {
+        progress.start(getSize());
+        final long before = progress.getFound();
+        pool.invoke(new Shards(0, getShardCount(), sink, progress, new AtomicLong(-1)));
+        return progress.getFound() - before;
+    }
+
+    /**
+     * Find the ordering whose seed matches, on a shared pool sized to the available processors.
+     *
+     * @see #findSeed(SeedCalculator, String, SeedPredicate, SearchProgress, ForkJoinPool)
+     */
+    public String findSeed(final SeedCalculator seedCalculator, final String passphrase,
+                           final SeedPredicate predicate, final SearchProgress progress) {
+        return findSeed(seedCalculator, passphrase, predicate, progress, SharedPool.get());
+    }
+
+    /**
+     * Find the ordering whose seed matches.
+     * Only orderings with a valid checksum have their seed calculated. Stops soon after any thread finds a match.
+     *
+     * @param seedCalculator Calculates the seeds
+     * @param passphrase     The passphrase, use "" if not required
+     * @param predicate      Tests each seed, called concurrently
+     * @param progress       Updated as the search runs, may be polled from another thread
+     * @param pool           The pool to search on
+     * @return The mnemonic found to match, or null if none did
+     */
+    public String findSeed(final SeedCalculator seedCalculator, final String passphrase,
+                           final SeedPredicate predicate, final SearchProgress progress, final ForkJoinPool pool) {
+        final SeedMatchSink sink = new SeedMatchSink(seedCalculator, wordList, passphrase, predicate);
+        progress.start(getSize());
+        pool.invoke(new Shards(0, getShardCount(), sink, progress, sink.found));
+        final int[] match = sink.getMatch();
+        return match == null ? null : RecoveryWords.toMnemonic(wordList, match);
+    }
+
+    /**
+     * Runs Heap's algorithm over the words after the first two, which the shard fixes.
+     */
+    private void search(final int shard, final MnemonicRecovery.CandidateSink sink, final SearchProgress progress,
+                        final AtomicLong stop) {
+        final int n = words.length;
+        final int[] arrangement = arrangement(shard);
+        final long[] bits = new long[5];
+        for (int i = 0; i < n; i++) {
+            ByteUtils.write11(bits, arrangement[i], i * 11);
+        }
+        final int m = n - PREFIX;
+        final int[] c = new int[m];
+        final int entropyBytes = n * 4 / 3;
+        final int shift = 8 - checksumBits;
+        final int mask = (1 << checksumBits) - 1;
+        final long firstRank = shard * shardSize;
+        long step = 0;
+        long tested = 0;
+        long found = 0;
+        int i = 1;
+        while (true) {
+            final int checksum = Sha256.firstByte(bits[0], bits[1], bits[2], bits[3], entropyBytes) >>> shift;
+            tested++;
+            if ((arrangement[n - 1] & mask) == checksum) {
+                found++;
+                sink.accept(firstRank + step, arrangement);
+                if (stop.get() >= 0) break;
+            }
+            if (tested == PROGRESS_INTERVAL) {
+                progress.add(tested, found);
+                tested = 0;
+                found = 0;
+            }
+            while (i < m && c[i] >= i) {
+                c[i] = 0;
+                i++;
+            }
+            if (i >= m) break;
+            final int a = PREFIX + ((i & 1) == 0 ? 0 : c[i]);
+            final int b = PREFIX + i;
+            final int word = arrangement[a];
+            arrangement[a] = arrangement[b];
+            arrangement[b] = word;
+            ByteUtils.write11(bits, arrangement[a], a * 11);
+            ByteUtils.write11(bits, arrangement[b], b * 11);
+            c[i]++;
+            i = 1;
+            step++;
+        }
+        progress.add(tested, found);
+    }
+
+    /**
+     * The starting order of a shard, the shard's two words first and the rest in their given order.
+     */
+    private int[] arrangement(final int shard) {
+        final int n = words.length;
+        final List<Integer> remaining = new ArrayList<>(n);
+        for (final int word : words) {
+            remaining.add(word);
+        }
+        final int[] arrangement = new int[n];
+        arrangement[0] = remaining.remove(shard / (n - 1));
+        arrangement[1] = remaining.remove(shard % (n - 1));
+        for (int i = PREFIX; i < n; i++) {
+            arrangement[i] = remaining.get(i - PREFIX);
+        }
+        return arrangement;
+    }
+
+    private static long factorial(final int n) {
+        long result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+
+    private final class Shards extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final MnemonicRecovery.CandidateSink sink;
+        private final SearchProgress progress;
+        private final AtomicLong stop;
+
+        Shards(final int from, final int to, final MnemonicRecovery.CandidateSink sink,
+               final SearchProgress progress, final AtomicLong stop) {
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+            this.progress = progress;
+            this.stop = stop;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (stop.get() < 0) search(from, sink, progress, stop);
+            } else {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new Shards(from, middle, sink, progress, stop),
+                        new Shards(middle, to, sink, progress, stop));
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.novacrypto.bip39.Normalization.normalizeNFKD;
+
+/**
+ * A mnemonic that has been normalized and turned into an HMAC key schedule once, ready to derive seeds for any number
+ * of passphrases.
+ * <p>
+ * In BIP0039 the mnemonic is the PBKDF2 password, so it is the HMAC key, and the passphrase only goes into the salt.
+ * Preparing the mnemonic therefore saves all per seed work on the mnemonic, which matters when trying many
+ * passphrases against one known mnemonic.
+ * <p>
+ * Uses the same algorithm as {@link PureJavaPBKDF2WithHmacSHA512}. Instances are thread safe.
+ */
+public final class PreparedMnemonic {
+
+    private final HmacSha512 hmac;
+
+    private PreparedMnemonic(final HmacSha512 hmac) {
+        this.hmac = hmac;
+    }
+
+    /**
+     * Prepare a mnemonic for seed calculation.
+     * The phrase is not checked for validity here, for that use a {@link MnemonicValidator}.
+     *
+     * @param mnemonic The memorable list of words
+     * @return A prepared mnemonic
+     */
+    public static PreparedMnemonic ofMnemonic(final String mnemonic) {
+        final char[] chars = normalizeNFKD(mnemonic).toCharArray();
+        try {
+            return new PreparedMnemonic(HmacSha512.ofPassword(chars));
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    /**
+     * Calculate the seed for this mnemonic and the given passphrase.
+     *
+     * @param passphrase An optional passphrase, use "" if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] calculateSeed(final String passphrase) {
+        final byte[] seed = new byte[HmacSha512.MAC_BYTES];
+        calculateSeed(passphrase, seed);
+        return seed;
+    }
+
+    private void calculateSeed(final String passphrase, final byte[] seed) {
+        final byte[] salt = SeedCalculator.salt(passphrase);
+        try {
+            hmac.pbkdf2(salt, 2048, seed, 0);
+        } finally {
+            Arrays.fill(salt, (byte) 0);
+        }
+    }
+
+    /**
+     * Search for the passphrase whose seed matches, using all available processors.
+     *
+     * @param passphrases Candidate passphrases, read under a lock so need not be thread safe
+     * @param predicate   Tests each seed, called concurrently
+     * @return The first passphrase found to match, or null if none did
+     */
+    public String findPassphrase(final Iterator<String> passphrases, final SeedPredicate predicate) {
+        return findPassphrase(passphrases, predicate, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Search for the passphrase whose seed matches.
+     * Stops as soon as any thread finds a match, or as soon as the predicate or a seed derivation throws in any thread.
+     *
+     * @param passphrases Candidate passphrases, read under a lock so need not be thread safe
+     * @param predicate   Tests each seed, called concurrently
+     * @param threads     Number of threads to search with
+     * @return The first passphrase found to match, or null if none did
+     */
+    public String findPassphrase(final Iterator<String> passphrases, final SeedPredicate predicate,
+                                 final int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("At least one thread required");
+        final AtomicReference<String> found = new AtomicReference<>();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Callable<Void>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    try {
+                        search(passphrases, predicate, found, failed);
+                    } catch (final RuntimeException | Error e) {
+                        failed.set(true);
+                        throw e;
+                    }
+                    return null;
+                }
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (final Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+        return found.get();
+    }
+
+    private void search(final Iterator<String> passphrases, final SeedPredicate predicate,
+                        final AtomicReference<String> found, final AtomicBoolean failed) {
+        final byte[] seed = new byte[HmacSha512.MAC_BYTES];
+        try {
+            while (found.get() == null && !failed.get()) {
+                final String passphrase;
+                synchronized (passphrases) {
+                    if (!passphrases.hasNext()) return;
+                    passphrase = passphrases.next();
+                }
+                calculateSeed(passphrase, seed);
+                if (predicate.matches(seed)) {
+                    found.compareAndSet(null, passphrase);
+                }
+            }
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+        }
+    }
+
+    /**
+     * Clears the key schedule, this instance must not be used afterwards.
+     */
+    public void clear() {
+        hmac.clear();
+    }
+}
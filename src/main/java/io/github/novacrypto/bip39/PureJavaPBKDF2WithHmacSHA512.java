@@ -0,0 +1,114 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A dependency free implementation that runs on any Java version, including all Android API levels.
+ * <p>
+ * The mnemonic is hashed into the HMAC inner and outer pad states once per seed and every one of the 2048 iterations
+ * resumes from those states, costing exactly two SHA-512 compressions over {@code long[]} state and no allocation.
+ */
+public enum PureJavaPBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512ToBuffer {
+    INSTANCE;
+
+    @Override
+    public byte[] hash(final char[] chars, final byte[] salt) {
+        return hash(chars, salt, Cancellation.NEVER);
+    }
+
+    byte[] hash(final char[] chars, final byte[] salt, final Cancellation cancellation) {
+        final byte[] seed = new byte[HmacSha512.MAC_BYTES];
+        hash(chars, salt, seed, 0, cancellation);
+        return seed;
+    }
+
+    @Override
+    public void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset) {
+        hash(chars, salt, out, offset, Cancellation.NEVER);
+    }
+
+    void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset,
+              final Cancellation cancellation) {
+        HmacSha512.checkRoom(out, offset);
+        final HmacSha512 hmac = HmacSha512.ofPassword(chars);
+        try {
+            hmac.pbkdf2(salt, 2048, out, offset, cancellation);
+        } finally {
+            hmac.clear();
+        }
+    }
+
+    /**
+     * Hash a password that is already UTF-8 encoded.
+     */
+    void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+        HmacSha512.checkRoom(out, offset);
+        final HmacSha512 hmac = new HmacSha512(password);
+        try {
+            hmac.pbkdf2(salt, 2048, out, offset);
+        } finally {
+            hmac.clear();
+        }
+    }
+
+    /**
+     * Writes the derived key at the buffer's position, advancing it, with no intermediate copy even when direct.
+     */
+    void hash(final char[] chars, final byte[] salt, final ByteBuffer out) {
+        final HmacSha512 hmac = HmacSha512.ofPassword(chars);
+        try {
+            hmac.pbkdf2(salt, 2048, out, Cancellation.NEVER);
+        } finally {
+            hmac.clear();
+        }
+    }
+
+    /**
+     * Hash many passwords on the calling thread, each with its own salt, reusing one set of working buffers.
+     * {@link SeedCalculator#calculateSeeds} hands each leaf of a batch to this.
+     *
+     * @param chars Passwords
+     * @param salts Salt for each password
+     * @return The 64 byte derived key for each password
+     */
+    public byte[][] hash(final char[][] chars, final byte[][] salts) {
+        if (salts.length != chars.length)
+            throw new IllegalArgumentException("Need one salt per password");
+        final byte[][] seeds = new byte[chars.length][HmacSha512.MAC_BYTES];
+        final HmacSha512.Scratch scratch = new HmacSha512.Scratch();
+        try {
+            for (int i = 0; i < chars.length; i++) {
+                final HmacSha512 hmac = HmacSha512.ofPassword(chars[i]);
+                try {
+                    hmac.pbkdf2(salts[i], 2048, seeds[i], 0, scratch);
+                } finally {
+                    hmac.clear();
+                }
+            }
+        } finally {
+            scratch.clear();
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+/**
+ * A contiguous range of ranks of a {@link MnemonicRecovery}, walked in rank order and split in the manner of a
+ * spliterator so that parallel searches can divide it.
+ * <p>
+ * Holds the current candidate packed in longs and as word indexes, and moving to the next rank rewrites only the
+ * words that change. Not thread safe, split it to share work between threads.
+ */
+public final class RecoveryRange {
+
+    private static final int PACKED_LONGS = 5;
+
+    private final MnemonicRecovery recovery;
+    private final long[] bits = new long[PACKED_LONGS];
+    private final int[] wordIndexes;
+    private final int[] digits;
+    private long next;
+    private long end;
+    private long current = -1;
+
+    RecoveryRange(final MnemonicRecovery recovery, final long from, final long to) {
+        this.recovery = recovery;
+        wordIndexes = recovery.template().clone();
+        digits = new int[recovery.unknownCount()];
+        for (int i = 0; i < wordIndexes.length; i++) {
+            if (wordIndexes[i] >= 0)
+                ByteUtils.write11(bits, wordIndexes[i], i * 11);
+        }
+        next = from;
+        end = to;
+    }
+
+    /**
+     * Moves to the next checksum valid completion in the range, if any.
+     *
+     * @param sink Receives the completion
+     * @return false if the range has been exhausted
+     */
+    public boolean tryAdvance(final MnemonicRecovery.CandidateSink sink) {
+        while (next < end) {
+            final long rank = next++;
+            moveTo(rank);
+            if (recovery.checksum(bits, wordIndexes)) {
+                sink.accept(rank, wordIndexes);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits every remaining checksum valid completion in the range.
+     *
+     * @param sink Receives each completion in rank order
+     * @return Number of completions visited
+     */
+    public long forEachRemaining(final MnemonicRecovery.CandidateSink sink) {
+        long count = 0;
+        while (tryAdvance(sink)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Splits off the first half of the remaining ranks.
+     *
+     * @return A range covering the first half, this range keeps the rest, or null if too small to split
+     */
+    public RecoveryRange trySplit() {
+        final long remaining = end - next;
+        if (remaining < 2)
+            return null;
+        final long middle = next + remaining / 2;
+        final RecoveryRange prefix = new RecoveryRange(recovery, next, middle);
+        next = middle;
+        return prefix;
+    }
+
+    /**
+     * @return Number of ranks not yet visited, an upper bound on the completions remaining
+     */
+    public long estimateSize() {
+        return end - next;
+    }
+
+    /**
+     * @return The rank the next call to {@link #tryAdvance} starts from
+     */
+    public long getNextRank() {
+        return next;
+    }
+
+    /**
+     * Copies out the candidate last moved to, whether or not its checksum was valid.
+     */
+    void current(final int[] out) {
+        System.arraycopy(wordIndexes, 0, out, 0, wordIndexes.length);
+    }
+
+    private void moveTo(final long rank) {
+        if (current >= 0 && rank == current + 1) {
+            increment();
+        } else {
+            unrank(rank);
+        }
+        current = rank;
+    }
+
+    private void increment() {
+        for (int u = digits.length - 1; u >= 0; u--) {
+            if (++digits[u] == recovery.radix(u)) digits[u] = 0;
+            recovery.write(u, digits[u], bits, wordIndexes);
+            if (digits[u] != 0) return;
+        }
+    }
+
+    private void unrank(long rank) {
+        for (int u = digits.length - 1; u >= 0; u--) {
+            final int radix = recovery.radix(u);
+            digits[u] = (int) (rank % radix);
+            rank /= radix;
+            recovery.write(u, digits[u], bits, wordIndexes);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs one shard of a {@link MnemonicRecovery} in blocks of ranks, writing a checkpoint file after each block so that
+ * a search taking days can resume after a restart.
+ * <p>
+ * Each block is searched in parallel and the checkpoint records the first rank not yet done, replaced atomically. A
+ * block interrupted part way is searched again on resume, so the sink may see some completions twice. Give each
+ * process or machine its own shard number and checkpoint file, together the shards cover every rank exactly once.
+ */
+public final class RecoverySearch {
+
+    private static final long DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private final MnemonicRecovery recovery;
+    private final int shard;
+    private final int shardCount;
+    private final Path checkpoint;
+    private final long blockSize;
+    private final long from;
+    private final long to;
+
+    /**
+     * @param recovery   The search space
+     * @param shard      Zero based shard number this search runs
+     * @param shardCount Number of shards the space is split into
+     * @param checkpoint File to resume from if it exists, and to record progress in
+     */
+    public RecoverySearch(final MnemonicRecovery recovery, final int shard, final int shardCount,
+                          final Path checkpoint) {
+        this(recovery, shard, shardCount, checkpoint, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param recovery   The search space
+     * @param shard      Zero based shard number this search runs
+     * @param shardCount Number of shards the space is split into
+     * @param checkpoint File to resume from if it exists, and to record progress in
+     * @param blockSize  Number of ranks searched between checkpoints
+     */
+    public RecoverySearch(final MnemonicRecovery recovery, final int shard, final int shardCount,
+                          final Path checkpoint, final long blockSize) {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Block size must be at least 1");
+        final RecoveryRange range = recovery.shard(shard, shardCount);
+        this.recovery = recovery;
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.checkpoint = checkpoint;
+        this.blockSize = blockSize;
+        from = range.getNextRank();
+        to = from + range.estimateSize();
+    }
+
+    /**
+     * Search the rest of the shard on a shared pool sized to the available processors.
+     *
+     * @see #run(MnemonicRecovery.CandidateSink, SearchProgress, ForkJoinPool)
+     */
+    public long run(final MnemonicRecovery.CandidateSink sink, final SearchProgress progress) throws IOException {
+        return run(sink, progress, SharedPool.get());
+    }
+
+    /**
+     * Search the rest of the shard, starting from the checkpoint if there is one.
+     *
+     * @param sink     Receives each checksum valid completion, called concurrently
+     * @param progress Counts ranks of this shard, including those done before a resume
+     * @param pool     The pool to search on
+     * @return Number of completions found by this call
+     * @throws IOException If the checkpoint cannot be read or written
+     */
+    public long run(final MnemonicRecovery.CandidateSink sink, final SearchProgress progress,
+                    final ForkJoinPool pool) throws IOException {
+        long next = getNextRank();
+        progress.start(to - from);
+        progress.add(next - from, 0);
+        long found = 0;
+        while (next < to) {
+            final long blockEnd = to - next > blockSize ? next + blockSize : to;
+            final long blockFound = recovery.forEachCandidate(recovery.range(next, blockEnd), sink, pool);
+            progress.add(blockEnd - next, blockFound);
+            found += blockFound;
+            next = blockEnd;
+            writeCheckpoint(next);
+        }
+        return found;
+    }
+
+    /**
+     * @return The first rank not yet searched, from the checkpoint or else the start of the shard
+     * @throws IOException If the checkpoint cannot be read
+     */
+    public long getNextRank() throws IOException {
+        if (!Files.exists(checkpoint))
+            return from;
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (!recovery.fingerprint().equals(properties.getProperty("search")) ||
+                !String.valueOf(shard).equals(properties.getProperty("shard")) ||
+                !String.valueOf(shardCount).equals(properties.getProperty("shardCount")))
+            throw new IllegalArgumentException("Checkpoint " + checkpoint + " is for a different search");
+        final long next;
+        try {
+            next = Long.parseLong(properties.getProperty("next"));
+        } catch (final NumberFormatException e) {
+            throw new IOException("Checkpoint " + checkpoint + " is corrupt", e);
+        }
+        if (next < from || next > to)
+            throw new IOException("Checkpoint " + checkpoint + " is corrupt");
+        return next;
+    }
+
+    /**
+     * @return true iff the checkpoint shows the whole shard has been searched
+     * @throws IOException If the checkpoint cannot be read
+     */
+    public boolean isComplete() throws IOException {
+        return getNextRank() == to;
+    }
+
+    private void writeCheckpoint(final long next) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty("search", recovery.fingerprint());
+        properties.setProperty("shard", String.valueOf(shard));
+        properties.setProperty("shardCount", String.valueOf(shardCount));
+        properties.setProperty("from", String.valueOf(from));
+        properties.setProperty("to", String.valueOf(to));
+        properties.setProperty("next", String.valueOf(next));
+        final Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Mnemonic recovery checkpoint");
+        }
+        Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the words of the mnemonics searched by {@link MnemonicRecovery} and {@link PermutationRecovery}.
+ */
+final class RecoveryWords {
+
+    private RecoveryWords() {
+    }
+
+    /**
+     * @param words           The word list's words
+     * @param space           The word list's space, " " is also accepted
+     * @param text            Words separated by spaces
+     * @param unknownsAllowed Whether "?" stands for an unknown word, given as -1
+     * @return The index of each word
+     */
+    static int[] wordIndexes(final WordTrie words, final char space, final CharSequence text,
+                             final boolean unknownsAllowed) {
+        final List<Integer> wordIndexes = new ArrayList<>();
+        final int length = text.length();
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i < length) {
+                final char c = text.charAt(i);
+                if (c != ' ' && c != space) continue;
+            }
+            if (unknownsAllowed && MnemonicRecovery.UNKNOWN.contentEquals(text.subSequence(start, i))) {
+                wordIndexes.add(-1);
+            } else {
+                wordIndexes.add(wordIndex(words, text, start, i, wordIndexes.size()));
+            }
+            start = i + 1;
+        }
+        final int[] indexes = new int[wordIndexes.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = wordIndexes.get(i);
+        }
+        return indexes;
+    }
+
+    static int wordIndex(final WordTrie words, final CharSequence text, final int start, final int end,
+                         final int position) {
+        final int index = words.find(text, start, end);
+        if (index < 0)
+            throw new IllegalArgumentException("Word not found in word list \"" + text.subSequence(start, end) +
+                    "\" at position " + position);
+        return index;
+    }
+
+    static String toMnemonic(final WordList wordList, final int[] wordIndexes) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < wordIndexes.length; i++) {
+            if (i > 0) sb.append(wordList.getSpace());
+            sb.append(wordList.getWord(wordIndexes[i]));
+        }
+        return sb.toString();
+    }
+}
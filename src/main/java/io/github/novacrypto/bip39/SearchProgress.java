@@ -0,0 +1,92 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live counters of a long running search, safe to read from any thread while the search runs.
+ */
+public final class SearchProgress {
+    private final AtomicLong tested = new AtomicLong();
+    private final AtomicLong found = new AtomicLong();
+    private volatile long total;
+    private volatile long startNanos;
+
+    /**
+     * Resets every counter, so one instance can follow several searches in turn.
+     */
+    void start(final long total) {
+        tested.set(0);
+        found.set(0);
+        this.total = total;
+        startNanos = System.nanoTime();
+    }
+
+    void add(final long tested, final long found) {
+        this.tested.addAndGet(tested);
+        this.found.addAndGet(found);
+    }
+
+    /**
+     * @return Number of candidates tested so far.
+     */
+    public long getTested() {
+        return tested.get();
+    }
+
+    /**
+     * @return Number of candidates tested so far that had a valid checksum.
+     */
+    public long getFound() {
+        return found.get();
+    }
+
+    /**
+     * @return Number of candidates the whole search will test.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Fraction of the search done, 0 to 1.
+     */
+    public double getFraction() {
+        final long total = this.total;
+        return total == 0 ? 0 : (double) getTested() / total;
+    }
+
+    /**
+     * @return Candidates tested per second since the search started.
+     */
+    public double getPerSecond() {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        return elapsedNanos <= 0 ? 0 : getTested() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d tested (%.2f%%), %d found, %.1f/s",
+                getTested(), total, getFraction() * 100, getFound(), getPerSecond());
+    }
+}
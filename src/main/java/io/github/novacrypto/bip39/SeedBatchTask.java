@@ -0,0 +1,61 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.concurrent.RecursiveAction;
+
+final class SeedBatchTask extends RecursiveAction {
+    private final SeedCalculator seedCalculator;
+    private final String[] mnemonics;
+    private final String[] passphrases;
+    private final byte[][] seeds;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    SeedBatchTask(final SeedCalculator seedCalculator,
+                  final String[] mnemonics,
+                  final String[] passphrases,
+                  final byte[][] seeds,
+                  final int from,
+                  final int to,
+                  final int leafSize) {
+        this.seedCalculator = seedCalculator;
+        this.mnemonics = mnemonics;
+        this.passphrases = passphrases;
+        this.seeds = seeds;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= leafSize) {
+            seedCalculator.calculateSeeds(mnemonics, passphrases, seeds, from, to);
+        } else {
+            final int middle = (from + to) >>> 1;
+            invokeAll(new SeedBatchTask(seedCalculator, mnemonics, passphrases, seeds, from, middle, leafSize),
+                    new SeedBatchTask(seedCalculator, mnemonics, passphrases, seeds, middle, to, leafSize));
+        }
+    }
+}
@@ -23,7 +23,14 @@ package io.github.novacrypto.bip39;
 
 import io.github.novacrypto.toruntime.CheckedExceptionToRuntime;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static io.github.novacrypto.bip39.Normalization.normalizeNFKD;
 import static io.github.novacrypto.toruntime.CheckedExceptionToRuntime.toRuntime;
@@ -33,11 +40,14 @@ import static io.github.novacrypto.toruntime.CheckedExceptionToRuntime.toRuntime
  */
 public final class SeedCalculator {
 
-    private final byte[] fixedSalt = getUtf8Bytes("mnemonic");
+    private static final byte[] FIXED_SALT = getUtf8Bytes("mnemonic");
+
     private final PBKDF2WithHmacSHA512 hashAlgorithm;
+    private final PBKDF2WithHmacSHA512Extensions extensions;
 
     public SeedCalculator(final PBKDF2WithHmacSHA512 hashAlgorithm) {
         this.hashAlgorithm = hashAlgorithm;
+        extensions = PBKDF2WithHmacSHA512Extensions.of(hashAlgorithm);
     }
 
     /**
@@ -72,15 +82,251 @@ public final class SeedCalculator {
     }
 
     byte[] calculateSeed(final char[] mnemonicChars, final String passphrase) {
-        final String normalizedPassphrase = normalizeNFKD(passphrase);
-        final byte[] salt2 = getUtf8Bytes(normalizedPassphrase);
-        final byte[] salt = combine(fixedSalt, salt2);
-        clear(salt2);
+        final byte[] salt = salt(passphrase);
         final byte[] encoded = hash(mnemonicChars, salt);
         clear(salt);
         return encoded;
     }
 
+    /**
+     * Calculate the seed into a buffer the caller owns, so that it can be reused and cleared.
+     * With the algorithms in this library no other copy of the seed is made.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param seed       Receives the 64 byte seed
+     * @param offset     Where in seed to write
+     * @throws IllegalArgumentException If seed does not have 64 bytes from offset
+     */
+    public void calculateSeed(final String mnemonic, final String passphrase, final byte[] seed, final int offset) {
+        final char[] chars = normalizeNFKD(mnemonic).toCharArray();
+        try {
+            calculateSeed(chars, passphrase, seed, offset);
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    /**
+     * Calculate the seed into a buffer, which may be direct, at its position and advance the position by 64.
+     * <p>
+     * Heap buffers are written in place. Direct buffers are written straight from the working state with
+     * {@link PureJavaPBKDF2WithHmacSHA512}, or {@link CalibratedPBKDF2WithHmacSHA512} when it selected that,
+     * other algorithms need a temporary array which is cleared.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param seed       Receives the 64 byte seed
+     * @throws BufferOverflowException If fewer than 64 bytes remain
+     * @throws ReadOnlyBufferException If seed is read only
+     */
+    public void calculateSeed(final String mnemonic, final String passphrase, final ByteBuffer seed) {
+        final char[] chars = normalizeNFKD(mnemonic).toCharArray();
+        try {
+            calculateSeed(chars, passphrase, seed);
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    void calculateSeed(final char[] mnemonicChars, final String passphrase, final byte[] seed, final int offset) {
+        HmacSha512.checkRoom(seed, offset);
+        final byte[] salt = salt(passphrase);
+        try {
+            extensions.hash(mnemonicChars, salt, seed, offset);
+        } finally {
+            clear(salt);
+        }
+    }
+
+    /**
+     * As {@link #calculateSeed(char[], String, byte[], int)} for a mnemonic already normalized and UTF-8 encoded.
+     */
+    void calculateSeed(final byte[] utf8Mnemonic, final String passphrase, final byte[] seed, final int offset) {
+        HmacSha512.checkRoom(seed, offset);
+        final byte[] salt = salt(passphrase);
+        try {
+            extensions.hashUtf8(utf8Mnemonic, salt, seed, offset);
+        } finally {
+            clear(salt);
+        }
+    }
+
+    void calculateSeed(final char[] mnemonicChars, final String passphrase, final ByteBuffer seed) {
+        if (seed.isReadOnly())
+            throw new ReadOnlyBufferException();
+        if (seed.remaining() < HmacSha512.MAC_BYTES)
+            throw new BufferOverflowException();
+        if (seed.hasArray()) {
+            calculateSeed(mnemonicChars, passphrase, seed.array(), seed.arrayOffset() + seed.position());
+            seed.position(seed.position() + HmacSha512.MAC_BYTES);
+            return;
+        }
+        final byte[] salt = salt(passphrase);
+        try {
+            extensions.hash(mnemonicChars, salt, seed);
+        } finally {
+            clear(salt);
+        }
+    }
+
+    /**
+     * Calculate the seed on a shared pool sized to the available processors.
+     *
+     * @see #calculateSeedAsync(String, String, Executor)
+     */
+    public Future<byte[]> calculateSeedAsync(final String mnemonic, final String passphrase) {
+        return calculateSeedAsync(mnemonic, passphrase, SharedPool.get());
+    }
+
+    /**
+     * Calculate the seed on the given executor, so that a caller such as an event loop need not block.
+     * <p>
+     * Cancelling the future stops the calculation at the next PBKDF2 iteration when using
+     * {@link PureJavaPBKDF2WithHmacSHA512}, or {@link CalibratedPBKDF2WithHmacSHA512} when it selected that,
+     * other algorithms are only stopped if they have not started yet.
+     * All intermediate buffers are cleared whichever way the calculation ends.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param executor   Where to run the calculation, ideally bounded to the number of processors
+     * @return The future seed for HD wallet generation
+     */
+    public Future<byte[]> calculateSeedAsync(final String mnemonic, final String passphrase,
+                                             final Executor executor) {
+        return SeedTask.execute(new SeedTask.Derivation() {
+            @Override
+            public byte[] derive(final Cancellation cancellation) {
+                final char[] chars = normalizeNFKD(mnemonic).toCharArray();
+                try {
+                    return calculateSeed(chars, passphrase, cancellation);
+                } finally {
+                    Arrays.fill(chars, '\0');
+                }
+            }
+
+            @Override
+            public void clear() {
+            }
+        }, executor);
+    }
+
+    byte[] calculateSeed(final char[] mnemonicChars, final String passphrase, final Cancellation cancellation) {
+        final byte[] salt = salt(passphrase);
+        try {
+            return extensions.hash(mnemonicChars, salt, cancellation);
+        } finally {
+            clear(salt);
+        }
+    }
+
+    /**
+     * The PBKDF2 salt for a passphrase, "mnemonic" followed by the normalized passphrase. Caller should clear it.
+     */
+    static byte[] salt(final String passphrase) {
+        final String normalizedPassphrase = normalizeNFKD(passphrase);
+        final byte[] salt2 = getUtf8Bytes(normalizedPassphrase);
+        final byte[] salt = combine(FIXED_SALT, salt2);
+        clear(salt2);
+        return salt;
+    }
+
+    /**
+     * Calculate many seeds in parallel on a shared pool sized to the available processors.
+     *
+     * @param mnemonics   The mnemonics, not checked for validity
+     * @param passphrases The passphrase for each mnemonic, use "" where not required
+     * @param seeds       Receives the seed for mnemonic i in slot i
+     * @return Throughput of the batch
+     * @see #calculateSeeds(String[], String[], byte[][], ForkJoinPool)
+     */
+    public BatchStatistics calculateSeeds(final String[] mnemonics,
+                                          final String[] passphrases,
+                                          final byte[][] seeds) {
+        return calculateSeeds(mnemonics, passphrases, seeds, SharedPool.get());
+    }
+
+    /**
+     * Calculate many seeds in parallel.
+     * Work is split into several leaf tasks per worker so that uneven mnemonic lengths still balance.
+     *
+     * @param mnemonics   The mnemonics, not checked for validity
+     * @param passphrases The passphrase for each mnemonic, use "" where not required
+     * @param seeds       Receives the seed for mnemonic i in slot i
+     * @param pool        The pool to calculate on
+     * @return Throughput of the batch
+     */
+    public BatchStatistics calculateSeeds(final String[] mnemonics,
+                                          final String[] passphrases,
+                                          final byte[][] seeds,
+                                          final ForkJoinPool pool) {
+        final int count = mnemonics.length;
+        if (passphrases.length != count)
+            throw new IllegalArgumentException("Need one passphrase per mnemonic");
+        if (seeds.length < count)
+            throw new IllegalArgumentException("Need one seed slot per mnemonic");
+        final int parallelism = pool.getParallelism();
+        final long start = System.nanoTime();
+        pool.invoke(new SeedBatchTask(this, mnemonics, passphrases, seeds,
+                0, count, SharedPool.leafSize(count, parallelism)));
+        return new BatchStatistics(count, System.nanoTime() - start, parallelism);
+    }
+
+    /**
+     * Calculate many seeds in parallel on a shared pool sized to the available processors.
+     *
+     * @see #calculateSeeds(String[], String[], byte[][], ForkJoinPool)
+     */
+    public BatchStatistics calculateSeeds(final List<String> mnemonics,
+                                          final List<String> passphrases,
+                                          final byte[][] seeds) {
+        return calculateSeeds(mnemonics, passphrases, seeds, SharedPool.get());
+    }
+
+    /**
+     * Calculate many seeds in parallel.
+     *
+     * @see #calculateSeeds(String[], String[], byte[][], ForkJoinPool)
+     */
+    public BatchStatistics calculateSeeds(final List<String> mnemonics,
+                                          final List<String> passphrases,
+                                          final byte[][] seeds,
+                                          final ForkJoinPool pool) {
+        return calculateSeeds(mnemonics.toArray(new String[mnemonics.size()]),
+                passphrases.toArray(new String[passphrases.size()]),
+                seeds,
+                pool);
+    }
+
+    /**
+     * Calculates the seeds for one leaf of a batch, handing them over together if the algorithm has a batch path.
+     */
+    void calculateSeeds(final String[] mnemonics, final String[] passphrases, final byte[][] seeds,
+                        final int from, final int to) {
+        if (to - from == 1) {
+            for (int i = from; i < to; i++) {
+                seeds[i] = calculateSeed(mnemonics[i], passphrases[i]);
+            }
+            return;
+        }
+        final int count = to - from;
+        final char[][] chars = new char[count][];
+        final byte[][] salts = new byte[count][];
+        try {
+            for (int i = 0; i < count; i++) {
+                chars[i] = normalizeNFKD(mnemonics[from + i]).toCharArray();
+                salts[i] = salt(passphrases[from + i]);
+            }
+            final byte[][] hashed = extensions.hash(chars, salts);
+            System.arraycopy(hashed, 0, seeds, from, count);
+        } finally {
+            for (int i = 0; i < count; i++) {
+                if (chars[i] != null) Arrays.fill(chars[i], '\0');
+                if (salts[i] != null) clear(salts[i]);
+            }
+        }
+    }
+
     public SeedCalculatorByWordListLookUp withWordsFromWordList(final WordList wordList) {
         return new SeedCalculatorByWordListLookUp(this, wordList);
     }
@@ -21,20 +21,120 @@
 
 package io.github.novacrypto.bip39;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 public final class SeedCalculatorByWordListLookUp {
     private final SeedCalculator seedCalculator;
+    private final MnemonicGenerator mnemonicGenerator;
     private final Map<CharSequence, char[]> map = new HashMap<>();
     private final NFKDNormalizer normalizer;
+    private final byte[][] utf8Words;
+    private final byte[] utf8Space;
 
     SeedCalculatorByWordListLookUp(final SeedCalculator seedCalculator, final WordList wordList) {
         this.seedCalculator = seedCalculator;
+        mnemonicGenerator = new MnemonicGenerator(wordList);
         normalizer = new WordListMapNormalization(wordList);
         for (int i = 0; i < 1 << 11; i++) {
             final String word = normalizer.normalize(wordList.getWord(i));
-            map.put(word, word.toCharArray());
+            final char[] chars = word.toCharArray();
+            map.put(word, chars);
         }
+        final WordTables tables = WordTables.of(wordList);
+        utf8Words = tables.normalizedUtf8Words;
+        utf8Space = tables.normalizedUtf8Space;
+    }
+
+    /**
+     * Calculate the seed from the indexes of the words in the word list supplied while creating this object.
+     * <p>
+     * The password is assembled from the words' normalized UTF-8 bytes, prepared once, so no text is handled.
+     *
+     * @param wordIndexes Index of each word of the mnemonic in the word list, [0..2047]
+     * @param passphrase  An optional passphrase, use "" if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] calculateSeed(final int[] wordIndexes, final String passphrase) {
+        final byte[] seed = new byte[HmacSha512.MAC_BYTES];
+        calculateSeed(wordIndexes, passphrase, seed, 0);
+        return seed;
+    }
+
+    /**
+     * Calculate the seed from word indexes into a buffer the caller owns.
+     *
+     * @see #calculateSeed(int[], String)
+     * @see SeedCalculator#calculateSeed(String, String, byte[], int)
+     */
+    public void calculateSeed(final int[] wordIndexes, final String passphrase, final byte[] seed, final int offset) {
+        final byte[] password = toMnemonicUtf8(wordIndexes);
+        try {
+            seedCalculator.calculateSeed(password, passphrase, seed, offset);
+        } finally {
+            Arrays.fill(password, (byte) 0);
+        }
+    }
+
+    /**
+     * Create a mnemonic from entropy and calculate its seed in one go.
+     * <p>
+     * The word indexes are computed once, the words go to the target as {@link MnemonicGenerator} would write them,
+     * and the seed is calculated from the precomputed word bytes, without building or normalizing the mnemonic.
+     *
+     * @param entropy    128-256 bits of entropy, number of bits must also be divisible by 32
+     * @param target     Where to write the mnemonic to
+     * @param passphrase An optional passphrase, use "" if not required
+     * @return a seed for HD wallet generation
+     */
+    public byte[] createMnemonicAndSeed(final byte[] entropy, final MnemonicGenerator.Target target,
+                                        final String passphrase) {
+        final byte[] seed = new byte[HmacSha512.MAC_BYTES];
+        createMnemonicAndSeed(entropy, target, passphrase, seed, 0);
+        return seed;
+    }
+
+    /**
+     * Create a mnemonic from entropy and calculate its seed into a buffer the caller owns.
+     *
+     * @see #createMnemonicAndSeed(byte[], MnemonicGenerator.Target, String)
+     * @see SeedCalculator#calculateSeed(String, String, byte[], int)
+     */
+    public void createMnemonicAndSeed(final byte[] entropy, final MnemonicGenerator.Target target,
+                                      final String passphrase, final byte[] seed, final int offset) {
+        HmacSha512.checkRoom(seed, offset);
+        final int[] wordIndexes = MnemonicGenerator.wordIndexes(entropy);
+        try {
+            mnemonicGenerator.createMnemonic(wordIndexes, target);
+            calculateSeed(wordIndexes, passphrase, seed, offset);
+        } finally {
+            Arrays.fill(wordIndexes, 0);
+        }
+    }
+
+    private byte[] toMnemonicUtf8(final int[] wordIndexes) {
+        int length = 0;
+        for (final int wordIndex : wordIndexes) {
+            if (wordIndex < 0 || wordIndex >= utf8Words.length)
+                throw new IllegalArgumentException("Word index out of range " + wordIndex);
+            length += utf8Words[wordIndex].length;
+        }
+        if (wordIndexes.length > 1)
+            length += (wordIndexes.length - 1) * utf8Space.length;
+        final byte[] password = new byte[length];
+        int index = 0;
+        for (int i = 0; i < wordIndexes.length; i++) {
+            if (i > 0) {
+                System.arraycopy(utf8Space, 0, password, index, utf8Space.length);
+                index += utf8Space.length;
+            }
+            final byte[] word = utf8Words[wordIndexes[i]];
+            System.arraycopy(word, 0, password, index, word.length);
+            index += word.length;
+        }
+        return password;
     }
 
     /**
@@ -53,15 +153,93 @@ public final class SeedCalculatorByWordListLookUp {
      * @return a seed for HD wallet generation
      */
     public byte[] calculateSeed(final Collection<? extends CharSequence> mnemonic, final String passphrase) {
+        final char[] mnemonicChars = toMnemonicChars(mnemonic);
+        try {
+            return seedCalculator.calculateSeed(mnemonicChars, passphrase);
+        } finally {
+            Arrays.fill(mnemonicChars, '\0');
+        }
+    }
+
+    /**
+     * Calculate the seed into a buffer the caller owns.
+     *
+     * @see SeedCalculator#calculateSeed(String, String, byte[], int)
+     */
+    public void calculateSeed(final Collection<? extends CharSequence> mnemonic, final String passphrase,
+                              final byte[] seed, final int offset) {
+        final char[] mnemonicChars = toMnemonicChars(mnemonic);
+        try {
+            seedCalculator.calculateSeed(mnemonicChars, passphrase, seed, offset);
+        } finally {
+            Arrays.fill(mnemonicChars, '\0');
+        }
+    }
+
+    /**
+     * Calculate the seed into a buffer, which may be direct, at its position and advance the position by 64.
+     *
+     * @see SeedCalculator#calculateSeed(String, String, ByteBuffer)
+     */
+    public void calculateSeed(final Collection<? extends CharSequence> mnemonic, final String passphrase,
+                              final ByteBuffer seed) {
+        final char[] mnemonicChars = toMnemonicChars(mnemonic);
+        try {
+            seedCalculator.calculateSeed(mnemonicChars, passphrase, seed);
+        } finally {
+            Arrays.fill(mnemonicChars, '\0');
+        }
+    }
+
+    /**
+     * Calculate the seed on a shared pool sized to the available processors.
+     *
+     * @see #calculateSeedAsync(Collection, String, Executor)
+     */
+    public Future<byte[]> calculateSeedAsync(final Collection<? extends CharSequence> mnemonic,
+                                             final String passphrase) {
+        return calculateSeedAsync(mnemonic, passphrase, SharedPool.get());
+    }
+
+    /**
+     * Calculate the seed on the given executor, so that a caller such as an event loop need not block.
+     * <p>
+     * The words are read before this method returns, so the collection may be changed or cleared straight away.
+     * Cancellation and clearing behave as {@link SeedCalculator#calculateSeedAsync(String, String, Executor)}.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param executor   Where to run the calculation, ideally bounded to the number of processors
+     * @return The future seed for HD wallet generation
+     */
+    public Future<byte[]> calculateSeedAsync(final Collection<? extends CharSequence> mnemonic,
+                                             final String passphrase,
+                                             final Executor executor) {
+        final char[] mnemonicChars = toMnemonicChars(mnemonic);
+        return SeedTask.execute(new SeedTask.Derivation() {
+            @Override
+            public byte[] derive(final Cancellation cancellation) {
+                return seedCalculator.calculateSeed(mnemonicChars, passphrase, cancellation);
+            }
+
+            @Override
+            public void clear() {
+                Arrays.fill(mnemonicChars, '\0');
+            }
+        }, executor);
+    }
+
+    private char[] toMnemonicChars(final Collection<? extends CharSequence> mnemonic) {
         final int words = mnemonic.size();
         final char[][] chars = new char[words][];
         final List<char[]> toClear = new LinkedList<>();
         int count = 0;
         int wordIndex = 0;
         for (final CharSequence word : mnemonic) {
-            char[] wordChars = map.get(normalizer.normalize(word));
+            final String normalized = normalizer.normalize(word);
+            char[] wordChars = map.get(normalized);
             if (wordChars == null) {
-                wordChars = normalizer.normalize(word).toCharArray();
+                wordChars = normalized.toCharArray();
                 toClear.add(wordChars);
             }
             chars[wordIndex++] = wordChars;
@@ -78,9 +256,8 @@ public final class SeedCalculatorByWordListLookUp {
                     mnemonicChars[index++] = ' ';
                 }
             }
-            return seedCalculator.calculateSeed(mnemonicChars, passphrase);
+            return mnemonicChars;
         } finally {
-            Arrays.fill(mnemonicChars, '\0');
             Arrays.fill(chars, null);
             for (final char[] charsToClear : toClear)
                 Arrays.fill(charsToClear, '\0');
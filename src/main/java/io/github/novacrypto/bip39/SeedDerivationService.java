@@ -0,0 +1,376 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.github.novacrypto.bip39.Normalization.normalizeNFKD;
+
+/**
+ * Calculates seeds on a fixed number of workers behind a bounded priority queue, with a deadline on every request.
+ * <p>
+ * A request is rejected up front, with {@link RejectedExecutionException}, when the queue is full or when the
+ * estimated time to finish it, from the queue ahead of it and recent service times, exceeds its deadline. Requests
+ * that reach their deadline while queued are never started, and with {@link PureJavaPBKDF2WithHmacSHA512}, directly
+ * or as selected by {@link CalibratedPBKDF2WithHmacSHA512}, those that reach it mid-calculation stop at the next
+ * PBKDF2 iteration. Either way the future fails with
+ * {@link TimeoutException}.
+ * <p>
+ * Cancelled requests give up their place in the queue at once, expired ones when the queue next looks full.
+ * <p>
+ * Queue depth and service time statistics are exposed for monitoring and autoscaling.
+ */
+public final class SeedDerivationService {
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    /**
+     * Weight of the latest sample in the moving average of service time, as 1/2^n.
+     */
+    private static final int SERVICE_TIME_SMOOTHING_SHIFT = 3;
+
+    private final SeedCalculator seedCalculator;
+    private final int workers;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger[] queuedByPriority = new AtomicInteger[Priority.values().length];
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong totalServiceNanos = new AtomicLong();
+    private volatile long averageServiceNanos;
+
+    /**
+     * @param hashAlgorithm Algorithm to calculate seeds with
+     * @param workers       Number of threads calculating seeds, usually no more than the number of processors
+     * @param queueCapacity Maximum number of requests waiting for a worker
+     */
+    public SeedDerivationService(final PBKDF2WithHmacSHA512 hashAlgorithm,
+                                 final int workers,
+                                 final int queueCapacity) {
+        if (workers < 1)
+            throw new IllegalArgumentException("At least one worker required");
+        if (queueCapacity < 1)
+            throw new IllegalArgumentException("At least one queue slot required");
+        this.seedCalculator = new SeedCalculator(hashAlgorithm);
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        for (int i = 0; i < queuedByPriority.length; i++) {
+            queuedByPriority[i] = new AtomicInteger();
+        }
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.NANOSECONDS,
+                new PriorityBlockingQueue<Runnable>(), new DaemonThreads());
+        executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Queue a seed calculation.
+     *
+     * @param mnemonic   The memorable list of words
+     * @param passphrase An optional passphrase, use "" if not required
+     * @param priority   Requests of higher priority are started first, in order of submission within a priority
+     * @param timeout    How long from now the seed is wanted within
+     * @param unit       Unit of timeout
+     * @return The future seed, fails with {@link TimeoutException} if the deadline passes first
+     * @throws RejectedExecutionException If the queue is full, the deadline cannot be met, or after shutdown
+     */
+    public Future<byte[]> submit(final String mnemonic,
+                                 final String passphrase,
+                                 final Priority priority,
+                                 final long timeout,
+                                 final TimeUnit unit) {
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + timeoutNanos;
+        if (getEstimatedCompletionNanos(priority) > timeoutNanos) {
+            throw reject("Estimated completion time exceeds the deadline");
+        }
+        if (queued.get() >= queueCapacity) {
+            expireQueued();
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            throw reject("Queue is full");
+        }
+        queuedByPriority[priority.ordinal()].incrementAndGet();
+        final Request request = new Request(priority, sequence.getAndIncrement(), deadline);
+        try {
+            return SeedTask.execute(new SeedTask.Derivation() {
+                @Override
+                public byte[] derive(final Cancellation cancellation) throws TimeoutException {
+                    return request.derive(mnemonic, passphrase, cancellation);
+                }
+
+                @Override
+                public void clear() {
+                    request.dequeued();
+                }
+            }, new QueueAsRequest(request));
+        } catch (final RejectedExecutionException e) {
+            request.dequeued();
+            rejected.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Fails queued requests whose deadline has passed, rather than leave them holding capacity until a worker polls
+     * them.
+     */
+    private void expireQueued() {
+        for (final Runnable runnable : executor.getQueue().toArray(new Runnable[0])) {
+            final Request request = (Request) runnable;
+            if (request.expired() && executor.remove(request)) {
+                request.seedTask.run();
+            }
+        }
+    }
+
+    private RejectedExecutionException reject(final String reason) {
+        rejected.incrementAndGet();
+        return new RejectedExecutionException(reason);
+    }
+
+    /**
+     * Estimate of how long a request of this priority submitted now would take to complete, including its own
+     * calculation. Zero until the first calculation completes.
+     */
+    public long getEstimatedCompletionNanos(final Priority priority) {
+        final long serviceNanos = averageServiceNanos;
+        int ahead = active.get();
+        for (int i = 0; i <= priority.ordinal(); i++) {
+            ahead += queuedByPriority[i].get();
+        }
+        final long rounds = ahead < workers ? 0 : (ahead - workers) / workers + 1;
+        return (rounds + 1) * serviceNanos;
+    }
+
+    /**
+     * @return Number of requests waiting for a worker.
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return Number of requests currently being calculated.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return Number of seeds successfully calculated.
+     */
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    /**
+     * @return Number of requests rejected on submission.
+     */
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * @return Number of requests whose deadline passed before their seed was calculated.
+     */
+    public long getExpiredCount() {
+        return expired.get();
+    }
+
+    /**
+     * @return Moving average time to calculate one seed, weighted towards recent calculations.
+     */
+    public long getAverageServiceNanos() {
+        return averageServiceNanos;
+    }
+
+    /**
+     * @return Mean time to calculate one seed over the life of the service.
+     */
+    public long getMeanServiceNanos() {
+        final long count = completed.get();
+        return count == 0 ? 0 : totalServiceNanos.get() / count;
+    }
+
+    /**
+     * Stop accepting requests. Queued requests are still calculated unless their deadline passes.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Stop accepting requests and cancel all queued and running requests.
+     */
+    public void shutdownNow() {
+        for (final Runnable runnable : executor.shutdownNow()) {
+            final Request request = (Request) runnable;
+            request.dequeued();
+            ((Future<?>) request.seedTask).cancel(false);
+        }
+    }
+
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    private void recordServiceTime(final long nanos) {
+        completed.incrementAndGet();
+        totalServiceNanos.addAndGet(nanos);
+        synchronized (this) {
+            final long average = averageServiceNanos;
+            averageServiceNanos = average == 0
+                    ? nanos
+                    : average + ((nanos - average) >> SERVICE_TIME_SMOOTHING_SHIFT);
+        }
+    }
+
+    private final class Request implements Runnable, Comparable<Request> {
+        private final Priority priority;
+        private final long sequence;
+        private final long deadline;
+        private final AtomicBoolean inQueue = new AtomicBoolean(true);
+        private volatile Runnable seedTask;
+
+        Request(final Priority priority, final long sequence, final long deadline) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int compareTo(final Request other) {
+            final int compare = priority.compareTo(other.priority);
+            if (compare != 0) return compare;
+            return sequence < other.sequence ? -1 : sequence == other.sequence ? 0 : 1;
+        }
+
+        @Override
+        public void run() {
+            dequeued();
+            active.incrementAndGet();
+            try {
+                seedTask.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+        /**
+         * Removes this request from the queue counts. Only the first call counts; the task finishing or being
+         * cancelled calls this again.
+         */
+        void dequeued() {
+            if (inQueue.compareAndSet(true, false)) {
+                queued.decrementAndGet();
+                queuedByPriority[priority.ordinal()].decrementAndGet();
+            }
+        }
+
+        boolean expired() {
+            return System.nanoTime() - deadline > 0;
+        }
+
+        byte[] derive(final String mnemonic, final String passphrase, final Cancellation cancellation)
+                throws TimeoutException {
+            if (expired()) {
+                throw timedOut();
+            }
+            final long start = System.nanoTime();
+            final char[] chars = normalizeNFKD(mnemonic).toCharArray();
+            final byte[] seed;
+            try {
+                seed = seedCalculator.calculateSeed(chars, passphrase, new Cancellation() {
+                    @Override
+                    public boolean isCancelled() {
+                        return cancellation.isCancelled() || expired();
+                    }
+                });
+            } catch (final CancellationException e) {
+                if (expired()) throw timedOut();
+                throw e;
+            } finally {
+                Arrays.fill(chars, '\0');
+            }
+            recordServiceTime(System.nanoTime() - start);
+            if (expired()) {
+                Arrays.fill(seed, (byte) 0);
+                throw timedOut();
+            }
+            return seed;
+        }
+
+        private TimeoutException timedOut() {
+            expired.incrementAndGet();
+            return new TimeoutException("Deadline passed");
+        }
+    }
+
+    /**
+     * Adapts {@link SeedTask#execute} to the priority queue, the task is run inside its {@link Request}.
+     */
+    private final class QueueAsRequest implements Executor {
+        private final Request request;
+
+        QueueAsRequest(final Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            request.seedTask = command;
+            executor.execute(request);
+        }
+    }
+
+    private static final class DaemonThreads implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "seed-derivation-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
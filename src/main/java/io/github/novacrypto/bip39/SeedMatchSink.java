@@ -0,0 +1,75 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Calculates the seed of each candidate into a buffer per thread, which is cleared after each one, and records the
+ * first candidate whose seed matches. Searches stop once {@link #found} is set.
+ */
+final class SeedMatchSink implements MnemonicRecovery.CandidateSink {
+
+    /**
+     * The rank of the match, or -1 until there is one.
+     */
+    final AtomicLong found = new AtomicLong(-1);
+
+    private final SeedCalculatorByWordListLookUp lookUp;
+    private final String passphrase;
+    private final SeedPredicate predicate;
+    private final ThreadLocal<byte[]> seeds = new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[HmacSha512.MAC_BYTES];
+        }
+    };
+    private volatile int[] match;
+
+    SeedMatchSink(final SeedCalculator seedCalculator, final WordList wordList, final String passphrase,
+                  final SeedPredicate predicate) {
+        lookUp = seedCalculator.withWordsFromWordList(wordList);
+        this.passphrase = passphrase;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void accept(final long rank, final int[] wordIndexes) {
+        final byte[] seed = seeds.get();
+        try {
+            lookUp.calculateSeed(wordIndexes, passphrase, seed, 0);
+            if (predicate.matches(seed) && found.compareAndSet(-1, rank)) {
+                match = wordIndexes.clone();
+            }
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+        }
+    }
+
+    /**
+     * @return The word indexes of the match, or null if there is none
+     */
+    int[] getMatch() {
+        return match;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A seed calculation run as a {@link Future}, cancelling it stops the derivation at the next
+ * PBKDF2 iteration where the algorithm allows.
+ */
+final class SeedTask extends FutureTask<byte[]> {
+
+    interface Derivation {
+
+        byte[] derive(Cancellation cancellation) throws TimeoutException;
+
+        /**
+         * Called once the task is done, however it finished, to clear any secrets held for the derivation.
+         */
+        void clear();
+    }
+
+    private final Derivation derivation;
+
+    private SeedTask(final Run run) {
+        super(run);
+        this.derivation = run.derivation;
+        run.task = this;
+    }
+
+    /**
+     * Runs the derivation on the executor. If the executor rejects it, the derivation is still cleared.
+     */
+    static Future<byte[]> execute(final Derivation derivation, final Executor executor) {
+        final SeedTask task = new SeedTask(new Run(derivation));
+        try {
+            executor.execute(task);
+        } catch (final RuntimeException e) {
+            task.cancel(false);
+            throw e;
+        }
+        return task;
+    }
+
+    @Override
+    protected void done() {
+        derivation.clear();
+    }
+
+    private static final class Run implements Callable<byte[]>, Cancellation {
+        private final Derivation derivation;
+        private volatile SeedTask task;
+
+        Run(final Derivation derivation) {
+            this.derivation = derivation;
+        }
+
+        @Override
+        public byte[] call() throws TimeoutException {
+            return derivation.derive(this);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import io.github.novacrypto.toruntime.CheckedExceptionToRuntime;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import static io.github.novacrypto.toruntime.CheckedExceptionToRuntime.toRuntime;
+
+/**
+ * SHA-256 reduced to what a BIP39 checksum needs, the first byte of the digest.
+ * <p>
+ * Each thread reuses one {@link MessageDigest} and digests into its own buffer, so there is no allocation per hash
+ * and the JVM's SHA-256 intrinsic is used where it has one.
+ */
+final class Sha256 {
+
+    private static final int DIGEST_BYTES = 32;
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<State>() {
+        @Override
+        protected State initialValue() {
+            return new State();
+        }
+    };
+
+    private Sha256() {
+    }
+
+    /**
+     * First byte of SHA-256 of part of an array.
+     *
+     * @param data   Array holding the message
+     * @param offset Start of the message
+     * @param length Length of the message
+     * @return The first digest byte, 0-255
+     */
+    static int firstByte(final byte[] data, final int offset, final int length) {
+        return STATE.get().firstByte(data, offset, length);
+    }
+
+    /**
+     * First byte of SHA-256 of up to 32 bytes held big-endian in four words, for searches that build candidate
+     * entropy arithmetically.
+     *
+     * @param e0     Bytes 0-7
+     * @param e1     Bytes 8-15
+     * @param e2     Bytes 16-23
+     * @param e3     Bytes 24-31
+     * @param length Length of the message, at most 32
+     * @return The first digest byte, 0-255
+     */
+    static int firstByte(final long e0, final long e1, final long e2, final long e3, final int length) {
+        final State state = STATE.get();
+        final byte[] message = state.message;
+        try {
+            Sha512.writeLong(e0, message, 0);
+            Sha512.writeLong(e1, message, 8);
+            Sha512.writeLong(e2, message, 16);
+            Sha512.writeLong(e3, message, 24);
+            return state.firstByte(message, 0, length);
+        } finally {
+            Arrays.fill(message, (byte) 0);
+        }
+    }
+
+    private static final class State {
+        private final MessageDigest digest = toRuntime(new CheckedExceptionToRuntime.Func<MessageDigest>() {
+            @Override
+            public MessageDigest run() throws Exception {
+                return MessageDigest.getInstance("SHA-256");
+            }
+        });
+        private final byte[] out = new byte[DIGEST_BYTES];
+        private final byte[] message = new byte[DIGEST_BYTES];
+
+        int firstByte(final byte[] data, final int offset, final int length) {
+            try {
+                digest.update(data, offset, length);
+                digest.digest(out, 0, DIGEST_BYTES);
+                return out[0] & 0xff;
+            } catch (final DigestException e) {
+                throw new RuntimeException(e);
+            } finally {
+                Arrays.fill(out, (byte) 0);
+            }
+        }
+    }
+}
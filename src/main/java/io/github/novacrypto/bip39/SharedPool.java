@@ -21,31 +21,32 @@
 
 package io.github.novacrypto.bip39;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
-final class CharSequenceSplitter {
+/**
+ * The pool batch operations run on when the caller does not supply one, created on first use.
+ */
+final class SharedPool {
+
+    private SharedPool() {
+    }
 
-    private final char separator1;
-    private final char separator2;
+    private static final class Holder {
+        static final ForkJoinPool POOL = new ForkJoinPool();
+    }
+
+    static ForkJoinPool get() {
+        return Holder.POOL;
+    }
 
-    CharSequenceSplitter(final char separator1, final char separator2) {
-        this.separator1 = separator1;
-        this.separator2 = separator2;
+    /**
+     * Size of leaf tasks so that each worker gets several to balance load, without splitting below one item.
+     */
+    static int leafSize(final int count, final int parallelism) {
+        return Math.max(1, count / (parallelism * 4));
     }
 
-    List<CharSequence> split(final CharSequence charSequence) {
-        final LinkedList<CharSequence> list = new LinkedList<>();
-        int start = 0;
-        final int length = charSequence.length();
-        for (int i = 0; i < length; i++) {
-            final char c = charSequence.charAt(i);
-            if (c == separator1 || c == separator2) {
-                list.add(charSequence.subSequence(start, i));
-                start = i + 1;
-            }
-        }
-        list.add(charSequence.subSequence(start, length));
-        return list;
+    static long leafSize(final long count, final int parallelism) {
+        return Math.max(1, count / (parallelism * 4L));
     }
-}
\ No newline at end of file
+}
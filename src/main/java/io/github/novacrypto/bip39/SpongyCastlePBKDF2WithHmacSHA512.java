@@ -23,20 +23,64 @@ package io.github.novacrypto.bip39;
 
 import org.spongycastle.crypto.PBEParametersGenerator;
 import org.spongycastle.crypto.digests.SHA512Digest;
-import org.spongycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.spongycastle.crypto.macs.HMac;
 import org.spongycastle.crypto.params.KeyParameter;
 
+import java.util.Arrays;
+
 /**
  * This implementation is useful for older Java implementations, for example it is suitable for all Android API levels.
+ * <p>
+ * Drives the {@link HMac} directly, so the derived key is accumulated in the output with no intermediate copies.
  */
-public enum SpongyCastlePBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512 {
+public enum SpongyCastlePBKDF2WithHmacSHA512 implements PBKDF2WithHmacSHA512ToBuffer {
     INSTANCE;
 
+    private static final byte[] FIRST_BLOCK_INDEX = {0, 0, 0, 1};
+
     @Override
     public byte[] hash(char[] chars, byte[] salt) {
-        PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(new SHA512Digest());
-        generator.init(PBEParametersGenerator.PKCS5PasswordToUTF8Bytes(chars), salt, 2048);
-        KeyParameter key = (KeyParameter) generator.generateDerivedMacParameters(512);
-        return key.getKey();
+        final byte[] seed = new byte[HmacSha512.MAC_BYTES];
+        hash(chars, salt, seed, 0);
+        return seed;
+    }
+
+    @Override
+    public void hash(final char[] chars, final byte[] salt, final byte[] out, final int offset) {
+        HmacSha512.checkRoom(out, offset);
+        final byte[] password = PBEParametersGenerator.PKCS5PasswordToUTF8Bytes(chars);
+        try {
+            hashUtf8(password, salt, out, offset);
+        } finally {
+            Arrays.fill(password, (byte) 0);
+        }
+    }
+
+    /**
+     * Hash a password that is already UTF-8 encoded.
+     */
+    void hashUtf8(final byte[] password, final byte[] salt, final byte[] out, final int offset) {
+        HmacSha512.checkRoom(out, offset);
+        final HMac hMac = new HMac(new SHA512Digest());
+        final byte[] u = new byte[HmacSha512.MAC_BYTES];
+        try {
+            final KeyParameter key = new KeyParameter(password);
+            hMac.init(key);
+            Arrays.fill(key.getKey(), (byte) 0);
+            hMac.update(salt, 0, salt.length);
+            hMac.update(FIRST_BLOCK_INDEX, 0, FIRST_BLOCK_INDEX.length);
+            hMac.doFinal(u, 0);
+            System.arraycopy(u, 0, out, offset, u.length);
+            for (int i = 1; i < 2048; i++) {
+                hMac.update(u, 0, u.length);
+                hMac.doFinal(u, 0);
+                for (int j = 0; j < u.length; j++) {
+                    out[offset + j] ^= u[j];
+                }
+            }
+        } finally {
+            Arrays.fill(u, (byte) 0);
+            hMac.reset();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * UTF-8 encoding of passwords straight from {@code char[]}, never creating a {@link String}.
+ */
+final class Utf8 {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private Utf8() {
+    }
+
+    /**
+     * Decodes to a {@code char[]}, clearing the decoder's buffer.
+     */
+    static char[] decode(final byte[] bytes) {
+        final CharBuffer buffer = UTF_8.decode(ByteBuffer.wrap(bytes));
+        try {
+            final char[] chars = new char[buffer.remaining()];
+            buffer.get(chars);
+            return chars;
+        } finally {
+            Arrays.fill(buffer.array(), '\0');
+        }
+    }
+
+    static byte[] encode(final char[] chars) {
+        final byte[] bytes = new byte[encodedLength(chars)];
+        int j = 0;
+        for (int i = 0; i < chars.length; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                bytes[j++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[j++] = (byte) (0xc0 | c >> 6);
+                bytes[j++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(c, chars[++i]);
+                bytes[j++] = (byte) (0xf0 | codePoint >> 18);
+                bytes[j++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                bytes[j++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                bytes[j++] = (byte) (0x80 | codePoint & 0x3f);
+            } else {
+                bytes[j++] = (byte) (0xe0 | c >> 12);
+                bytes[j++] = (byte) (0x80 | c >> 6 & 0x3f);
+                bytes[j++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        return bytes;
+    }
+
+    private static int encodedLength(final char[] chars) {
+        int length = 0;
+        for (int i = 0; i < chars.length; i++) {
+            final char c = chars[i];
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || i + 1 == chars.length || !Character.isLowSurrogate(chars[i + 1]))
+                    throw new RuntimeException("Invalid UTF-16 surrogate pair at index " + i);
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
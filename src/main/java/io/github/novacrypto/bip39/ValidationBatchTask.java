@@ -0,0 +1,72 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks a range of a batch, writing each status and returning the number of each outcome.
+ */
+final class ValidationBatchTask extends RecursiveTask<int[]> {
+
+    static final int OUTCOMES = ValidationStatus.INVALID_CHECKSUM + 1;
+
+    interface Items {
+        int check(int i);
+    }
+
+    private final Items items;
+    private final int[] statuses;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    ValidationBatchTask(final Items items, final int[] statuses, final int from, final int to, final int leafSize) {
+        this.items = items;
+        this.statuses = statuses;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+    }
+
+    @Override
+    protected int[] compute() {
+        if (to - from <= leafSize) {
+            final int[] counts = new int[OUTCOMES];
+            for (int i = from; i < to; i++) {
+                final int status = items.check(i);
+                statuses[i] = status;
+                counts[ValidationStatus.getOutcome(status)]++;
+            }
+            return counts;
+        }
+        final int middle = (from + to) >>> 1;
+        final ValidationBatchTask right = new ValidationBatchTask(items, statuses, middle, to, leafSize);
+        right.fork();
+        final int[] counts = new ValidationBatchTask(items, statuses, from, middle, leafSize).compute();
+        final int[] rightCounts = right.join();
+        for (int i = 0; i < OUTCOMES; i++) {
+            counts[i] += rightCounts[i];
+        }
+        return counts;
+    }
+}
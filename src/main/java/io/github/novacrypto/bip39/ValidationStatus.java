@@ -0,0 +1,99 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+/**
+ * Decodes the int status returned by {@link MnemonicValidator#check(CharSequence)}.
+ * <p>
+ * The low byte is the outcome. For {@link #WORD_NOT_FOUND} and {@link #UNEXPECTED_WHITE_SPACE} the bits above it
+ * hold the zero based position of the offending word.
+ */
+public final class ValidationStatus {
+
+    public static final int VALID = 0;
+    public static final int INVALID_WORD_COUNT = 1;
+    public static final int WORD_NOT_FOUND = 2;
+    public static final int UNEXPECTED_WHITE_SPACE = 3;
+    public static final int INVALID_CHECKSUM = 4;
+
+    private static final int POSITION_SHIFT = 8;
+
+    private ValidationStatus() {
+    }
+
+    static int of(final int outcome, final int wordPosition) {
+        return outcome | wordPosition << POSITION_SHIFT;
+    }
+
+    /**
+     * @param status A status from {@link MnemonicValidator#check(CharSequence)}
+     * @return true iff the mnemonic was valid
+     */
+    public static boolean isValid(final int status) {
+        return status == VALID;
+    }
+
+    /**
+     * @param status A status from {@link MnemonicValidator#check(CharSequence)}
+     * @return One of {@link #VALID}, {@link #INVALID_WORD_COUNT}, {@link #WORD_NOT_FOUND},
+     * {@link #UNEXPECTED_WHITE_SPACE} or {@link #INVALID_CHECKSUM}
+     */
+    public static int getOutcome(final int status) {
+        return status & 0xff;
+    }
+
+    /**
+     * @param status A status from {@link MnemonicValidator#check(CharSequence)}
+     * @return Zero based position of the word that failed, or -1 if the failure is not about one word
+     */
+    public static int getWordPosition(final int status) {
+        final int outcome = getOutcome(status);
+        return outcome == WORD_NOT_FOUND || outcome == UNEXPECTED_WHITE_SPACE ? status >>> POSITION_SHIFT : -1;
+    }
+
+    /**
+     * @param status A status from {@link MnemonicValidator#check(CharSequence)}
+     * @return A description such as "WORD_NOT_FOUND at word 3"
+     */
+    public static String toString(final int status) {
+        final String name = outcomeName(getOutcome(status));
+        final int position = getWordPosition(status);
+        return position < 0 ? name : name + " at word " + position;
+    }
+
+    private static String outcomeName(final int outcome) {
+        switch (outcome) {
+            case VALID:
+                return "VALID";
+            case INVALID_WORD_COUNT:
+                return "INVALID_WORD_COUNT";
+            case WORD_NOT_FOUND:
+                return "WORD_NOT_FOUND";
+            case UNEXPECTED_WHITE_SPACE:
+                return "UNEXPECTED_WHITE_SPACE";
+            case INVALID_CHECKSUM:
+                return "INVALID_CHECKSUM";
+            default:
+                throw new IllegalArgumentException("Unknown outcome " + outcome);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static io.github.novacrypto.bip39.Normalization.normalizeNFKD;
+
+/**
+ * The chars and UTF-8 bytes of every word in a {@link WordList}, built the first time a list is used and shared by
+ * every {@link MnemonicGenerator} and {@link SeedCalculatorByWordListLookUp} using it after that. Lists are held
+ * weakly so that a discarded custom list does not stay in memory. The arrays must not be modified.
+ */
+final class WordTables {
+
+    private static final Map<WordList, WordTables> CACHE =
+            Collections.synchronizedMap(new WeakHashMap<WordList, WordTables>());
+
+    /**
+     * The words as the list gives them.
+     */
+    final char[][] words = new char[1 << 11][];
+    final byte[][] utf8Words = new byte[1 << 11][];
+    final byte[] utf8Space;
+
+    /**
+     * The NFKD normalized words, as hashed into a seed. The same arrays as {@link #utf8Words} where nothing changes.
+     */
+    final byte[][] normalizedUtf8Words = new byte[1 << 11][];
+    final byte[] normalizedUtf8Space;
+
+    private WordTables(final WordList wordList) {
+        final char space = wordList.getSpace();
+        utf8Space = Utf8.encode(new char[]{space});
+        normalizedUtf8Space = normalized(String.valueOf(space), utf8Space);
+        for (int i = 0; i < words.length; i++) {
+            final String word = wordList.getWord(i);
+            words[i] = word.toCharArray();
+            utf8Words[i] = Utf8.encode(words[i]);
+            normalizedUtf8Words[i] = normalized(word, utf8Words[i]);
+        }
+    }
+
+    static WordTables of(final WordList wordList) {
+        WordTables tables = CACHE.get(wordList);
+        if (tables == null) {
+            tables = new WordTables(wordList);
+            CACHE.put(wordList, tables);
+        }
+        return tables;
+    }
+
+    private static byte[] normalized(final String text, final byte[] utf8) {
+        final byte[] normalized = Utf8.encode(normalizeNFKD(text).toCharArray());
+        return Arrays.equals(normalized, utf8) ? utf8 : normalized;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Array backed trie over the NFKD normalized words of a {@link WordList}.
+ * <p>
+ * Lookups walk the trie a char at a time, normalizing as they go, so resolving a word is O(length) and allocation
+ * free. Children are contiguous and sorted, and each node knows the rank range of its words in
+ * {@link CharSequenceComparators#ALPHABETICAL} order, so a miss gives the same insertion point a binary search of the
+ * sorted word list would.
+ */
+final class WordTrie {
+
+    private static final int ROOT = 0;
+    private static final int WORD_COUNT = 1 << 11;
+
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] wordIndex;
+    private final int[] rankStart;
+    private final int[] rankEnd;
+    private final int[] indexByRank;
+
+    WordTrie(final WordList wordList) {
+        final String[] normalized = new String[WORD_COUNT];
+        final Integer[] sorted = new Integer[WORD_COUNT];
+        int capacity = 1;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            normalized[i] = Normalizer.normalize(wordList.getWord(i), Normalizer.Form.NFKD);
+            sorted[i] = i;
+            capacity += normalized[i].length();
+        }
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                return CharSequenceComparators.ALPHABETICAL.compare(normalized[o1], normalized[o2]);
+            }
+        });
+        indexByRank = new int[WORD_COUNT];
+        final String[] byRank = new String[WORD_COUNT];
+        for (int rank = 0; rank < WORD_COUNT; rank++) {
+            indexByRank[rank] = sorted[rank];
+            byRank[rank] = normalized[sorted[rank]];
+        }
+        label = new char[capacity];
+        firstChild = new int[capacity];
+        childCount = new int[capacity];
+        wordIndex = new int[capacity];
+        rankStart = new int[capacity];
+        rankEnd = new int[capacity];
+        build(byRank, ROOT, 0, WORD_COUNT, 0, ROOT + 1);
+    }
+
+    private int build(final String[] byRank, final int node, final int start, final int end, final int depth,
+                      int free) {
+        rankStart[node] = start;
+        rankEnd[node] = end;
+        int lo = start;
+        if (byRank[lo].length() == depth) {
+            wordIndex[node] = indexByRank[lo];
+            lo++;
+        } else {
+            wordIndex[node] = -1;
+        }
+        int groups = 0;
+        for (int i = lo; i < end; i = nextGroup(byRank, i, end, depth)) {
+            groups++;
+        }
+        final int first = free;
+        firstChild[node] = first;
+        childCount[node] = groups;
+        free += groups;
+        int child = first;
+        for (int i = lo; i < end; child++) {
+            final int next = nextGroup(byRank, i, end, depth);
+            label[child] = byRank[i].charAt(depth);
+            free = build(byRank, child, i, next, depth + 1, free);
+            i = next;
+        }
+        return free;
+    }
+
+    private static int nextGroup(final String[] byRank, final int start, final int end, final int depth) {
+        final char c = byRank[start].charAt(depth);
+        int i = start + 1;
+        while (i < end && byRank[i].charAt(depth) == c) i++;
+        return i;
+    }
+
+    /**
+     * Finds a word given in any normalization form.
+     *
+     * @param word  Chars holding the word
+     * @param start Start of the word
+     * @param end   End of the word, exclusive
+     * @return The word's index in the word list if found, otherwise (-(insertion rank) - 1)
+     */
+    int find(final CharSequence word, final int start, final int end) {
+        int state = ROOT;
+        boolean previousMark = false;
+        for (int i = start; i < end; i++) {
+            final char c = word.charAt(i);
+            if (Character.isSurrogate(c))
+                return findNormalized(Normalizer.normalize(word.subSequence(start, end), Normalizer.Form.NFKD));
+            final char[] decomposition = CharDecomposition.of(c);
+            if (decomposition == null) {
+                final boolean mark = CharDecomposition.isMark(c);
+                if (mark && previousMark)
+                    return findNormalized(Normalizer.normalize(word.subSequence(start, end), Normalizer.Form.NFKD));
+                previousMark = mark;
+                state = next(state, c);
+            } else {
+                for (final char d : decomposition) {
+                    final boolean mark = CharDecomposition.isMark(d);
+                    if (mark && previousMark)
+                        return findNormalized(Normalizer.normalize(word.subSequence(start, end), Normalizer.Form.NFKD));
+                    previousMark = mark;
+                    state = next(state, d);
+                }
+            }
+        }
+        return result(state);
+    }
+
+    private int findNormalized(final String normalized) {
+        int state = ROOT;
+        for (int i = 0; i < normalized.length(); i++) {
+            state = next(state, normalized.charAt(i));
+        }
+        return result(state);
+    }
+
+    /**
+     * @return A child node, or once off the trie (-(insertion rank) - 1)
+     */
+    private int next(final int node, final char c) {
+        if (node < 0) return node;
+        int lo = firstChild[node];
+        int hi = lo + childCount[node];
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            final char midLabel = label[mid];
+            if (midLabel < c) lo = mid + 1;
+            else if (midLabel > c) hi = mid;
+            else return mid;
+        }
+        final int rank = lo < firstChild[node] + childCount[node] ? rankStart[lo] : rankEnd[node];
+        return -rank - 1;
+    }
+
+    private int result(final int state) {
+        if (state < 0) return state;
+        final int index = wordIndex[state];
+        return index >= 0 ? index : -rankStart[state] - 1;
+    }
+
+    /**
+     * @param rank Position in {@link CharSequenceComparators#ALPHABETICAL} order of the normalized words
+     * @return The index in the word list of the word at that rank
+     */
+    int indexAtRank(final int rank) {
+        return indexByRank[rank];
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.BatchValidationSummary;
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.ValidationStatus;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.testjson.EnglishJson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class BatchValidationTests {
+
+    private final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+
+    @Test
+    public void all_english_test_vectors() {
+        final EnglishJson data = EnglishJson.load();
+        final int count = data.english.length;
+        final CharSequence[] mnemonics = new CharSequence[count];
+        for (int i = 0; i < count; i++) {
+            mnemonics[i] = data.english[i][1];
+        }
+        final int[] statuses = new int[count];
+        final BatchValidationSummary summary = validator.checkAll(mnemonics, statuses);
+        assertEquals(count, summary.getCount());
+        assertEquals(count, summary.getValidCount());
+        assertEquals(0, summary.getInvalidCount());
+        for (final int status : statuses) {
+            assertEquals(ValidationStatus.VALID, status);
+        }
+    }
+
+    @Test
+    public void mixed_batch_matches_single_checks_on_supplied_pool() {
+        final List<String> mnemonics = randomMnemonics(2000);
+        final int[] statuses = new int[mnemonics.size()];
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final BatchValidationSummary summary;
+        try {
+            summary = validator.checkAll(mnemonics, statuses, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(3, summary.getStatistics().getParallelism());
+        final int[] counts = new int[ValidationStatus.INVALID_CHECKSUM + 1];
+        for (int i = 0; i < statuses.length; i++) {
+            assertEquals(mnemonics.get(i), validator.check(mnemonics.get(i)), statuses[i]);
+            counts[ValidationStatus.getOutcome(statuses[i])]++;
+        }
+        for (int outcome = 0; outcome < counts.length; outcome++) {
+            assertEquals(counts[outcome], summary.getCount(outcome));
+        }
+        assertTrue(summary.getValidCount() > 0);
+        assertTrue(summary.getCount(ValidationStatus.INVALID_CHECKSUM) > 0);
+        assertTrue(summary.getCount(ValidationStatus.WORD_NOT_FOUND) > 0);
+        assertEquals(statuses.length - summary.getValidCount(), summary.getInvalidCount());
+    }
+
+    @Test
+    public void pre_split_words() {
+        final List<String> mnemonics = randomMnemonics(500);
+        final CharSequence[][] words = new CharSequence[mnemonics.size()][];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = mnemonics.get(i).split(" ", -1);
+        }
+        final int[] statuses = new int[words.length];
+        validator.checkAll(words, statuses);
+        for (int i = 0; i < statuses.length; i++) {
+            assertEquals(mnemonics.get(i), validator.check(mnemonics.get(i)), statuses[i]);
+        }
+    }
+
+    @Test
+    public void empty_word_array_is_counted_not_thrown() {
+        final CharSequence[][] words = {
+                "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about"
+                        .split(" "),
+                new CharSequence[0],
+                {"abandon", "abandon"}
+        };
+        final int[] statuses = new int[words.length];
+        final BatchValidationSummary summary = validator.checkAll(words, statuses);
+        assertEquals(ValidationStatus.VALID, statuses[0]);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[1]);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[2]);
+        assertEquals(1, summary.getCount(ValidationStatus.VALID));
+        assertEquals(2, summary.getCount(ValidationStatus.INVALID_WORD_COUNT));
+    }
+
+    @Test
+    public void more_than_24_words_is_counted_as_bad_word_count() {
+        final String[] abandon27 = new String[27];
+        Arrays.fill(abandon27, "abandon");
+        final String[] zoo48 = new String[48];
+        Arrays.fill(zoo48, "zoo");
+        final CharSequence[] mnemonics = {String.join(" ", abandon27), String.join(" ", zoo48)};
+        final int[] statuses = new int[mnemonics.length];
+        final BatchValidationSummary summary = validator.checkAll(mnemonics, statuses);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[0]);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[1]);
+        assertEquals(2, summary.getCount(ValidationStatus.INVALID_WORD_COUNT));
+        assertEquals(0, summary.getCount(ValidationStatus.VALID));
+
+        final CharSequence[][] words = {abandon27, zoo48};
+        final BatchValidationSummary wordsSummary = validator.checkAll(words, statuses);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[0]);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[1]);
+        assertEquals(2, wordsSummary.getCount(ValidationStatus.INVALID_WORD_COUNT));
+    }
+
+    @Test
+    public void leaves_extra_slots_untouched() {
+        final int[] statuses = {-1, -1, -1};
+        validator.checkAll(new CharSequence[]{"abandon", "abandon  about"}, statuses);
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, statuses[0]);
+        assertEquals(ValidationStatus.UNEXPECTED_WHITE_SPACE, ValidationStatus.getOutcome(statuses[1]));
+        assertEquals(-1, statuses[2]);
+    }
+
+    @Test
+    public void empty_batch() {
+        assertEquals(0, validator.checkAll(new CharSequence[0], new int[0]).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void too_few_status_slots() {
+        validator.checkAll(new CharSequence[]{"a", "b"}, new int[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknown_outcome() {
+        validator.checkAll(new CharSequence[0], new int[0]).getCount(5);
+    }
+
+    private static List<String> randomMnemonics(final int count) {
+        final Random random = new Random(4);
+        final List<String> mnemonics = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            final StringBuilder sb = new StringBuilder();
+            final int wordCount = random.nextInt(4) == 0 ? 1 + random.nextInt(24) : 12;
+            for (int i = 0; i < wordCount; i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(random.nextInt(200) == 0 ? "xyz" : English.INSTANCE.getWord(random.nextInt(1 << 11)));
+            }
+            mnemonics.add(sb.toString());
+        }
+        return mnemonics;
+    }
+}
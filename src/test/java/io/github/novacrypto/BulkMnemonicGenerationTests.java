@@ -0,0 +1,193 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.BulkMnemonicGenerator;
+import io.github.novacrypto.bip39.MnemonicGenerator;
+import io.github.novacrypto.bip39.Words;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class BulkMnemonicGenerationTests {
+
+    private static final int COUNT = 203;
+
+    @Test
+    public void array_matches_one_at_a_time_in_order() {
+        for (final Words words : Words.values()) {
+            final byte[] entropy = entropy(words, COUNT);
+            final List<String> expected = oneAtATime(new MnemonicGenerator(English.INSTANCE), words, entropy);
+            for (final int parallelism : new int[]{1, 4}) {
+                final ForkJoinPool pool = new ForkJoinPool(parallelism);
+                try {
+                    final List<String> actual = new ArrayList<>();
+                    final long count = new BulkMnemonicGenerator(new MnemonicGenerator(English.INSTANCE), words, pool, 16)
+                            .generate(entropy, 0, entropy.length, collect(actual));
+                    assertEquals(COUNT, count);
+                    assertEquals(expected, actual);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void array_range() {
+        final byte[] entropy = entropy(Words.TWELVE, 10);
+        final List<String> expected = oneAtATime(new MnemonicGenerator(English.INSTANCE), Words.TWELVE, entropy)
+                .subList(2, 7);
+        final List<String> actual = new ArrayList<>();
+        new BulkMnemonicGenerator(new MnemonicGenerator(English.INSTANCE), Words.TWELVE)
+                .generate(entropy, 32, 80, collect(actual));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void stream_in_small_reads() throws IOException {
+        final byte[] entropy = entropy(Words.TWENTY_FOUR, COUNT);
+        final MnemonicGenerator generator = new MnemonicGenerator(Japanese.INSTANCE);
+        final List<String> actual = new ArrayList<>();
+        final long count = new BulkMnemonicGenerator(generator, Words.TWENTY_FOUR, new ForkJoinPool(3), 10)
+                .generate(new TrickleInputStream(new ByteArrayInputStream(entropy)), collect(actual));
+        assertEquals(COUNT, count);
+        assertEquals(oneAtATime(generator, Words.TWENTY_FOUR, entropy), actual);
+    }
+
+    @Test
+    public void channel() throws IOException {
+        final byte[] entropy = entropy(Words.EIGHTEEN, COUNT);
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        final List<String> actual = new ArrayList<>();
+        new BulkMnemonicGenerator(generator, Words.EIGHTEEN)
+                .generate(Channels.newChannel(new ByteArrayInputStream(entropy)), collect(actual));
+        assertEquals(oneAtATime(generator, Words.EIGHTEEN, entropy), actual);
+    }
+
+    @Test
+    public void word_indexes() throws IOException {
+        final byte[] entropy = entropy(Words.FIFTEEN, COUNT);
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        final List<String> expected = oneAtATime(generator, Words.FIFTEEN, entropy);
+        final List<String> actual = new ArrayList<>();
+        final long[] next = {0};
+        new BulkMnemonicGenerator(generator, Words.FIFTEEN, new ForkJoinPool(2), 8)
+                .generateWordIndexes(new ByteArrayInputStream(entropy), (index, wordIndexes, offset, count) -> {
+                    assertEquals(next[0]++, index);
+                    assertEquals(15, count);
+                    final StringBuilder sb = new StringBuilder();
+                    for (int i = 0; i < count; i++) {
+                        if (i > 0) sb.append(' ');
+                        sb.append(English.INSTANCE.getWord(wordIndexes[offset + i]));
+                    }
+                    actual.add(sb.toString());
+                });
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void empty_input() throws IOException {
+        assertEquals(0, new BulkMnemonicGenerator(new MnemonicGenerator(English.INSTANCE), Words.TWELVE)
+                .generate(new ByteArrayInputStream(new byte[0]), collect(new ArrayList<>())));
+    }
+
+    @Test
+    public void stream_ending_part_way() {
+        final List<String> actual = new ArrayList<>();
+        assertThatThrownBy(() -> new BulkMnemonicGenerator(new MnemonicGenerator(English.INSTANCE), Words.TWELVE)
+                .generate(new ByteArrayInputStream(new byte[16 * 3 + 5]), collect(actual)))
+                .isInstanceOf(EOFException.class)
+                .hasMessage("Entropy ended part way through a mnemonic");
+    }
+
+    @Test
+    public void array_not_whole_mnemonics() {
+        assertThatThrownBy(() -> new BulkMnemonicGenerator(new MnemonicGenerator(English.INSTANCE), Words.TWELVE)
+                .generate(new byte[20], 0, 20, collect(new ArrayList<>())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Entropy length must be a multiple of 16");
+    }
+
+    @Test
+    public void sink_exception_propagates() {
+        final byte[] entropy = entropy(Words.TWELVE, COUNT);
+        assertThatThrownBy(() -> new BulkMnemonicGenerator(new MnemonicGenerator(English.INSTANCE), Words.TWELVE,
+                new ForkJoinPool(2), 4)
+                .generate(entropy, 0, entropy.length, (index, chars, offset, length) -> {
+                    if (index == 50) throw new IllegalStateException("Full");
+                }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Full");
+    }
+
+    private static BulkMnemonicGenerator.MnemonicSink collect(final List<String> list) {
+        return (index, chars, offset, length) -> {
+            assertEquals(list.size(), index);
+            list.add(new String(chars, offset, length));
+        };
+    }
+
+    private static List<String> oneAtATime(final MnemonicGenerator generator, final Words words,
+                                           final byte[] entropy) {
+        final List<String> mnemonics = new ArrayList<>();
+        for (int i = 0; i < entropy.length; i += words.byteLength()) {
+            final StringBuilder sb = new StringBuilder();
+            generator.createMnemonic(Arrays.copyOfRange(entropy, i, i + words.byteLength()), sb::append);
+            mnemonics.add(sb.toString());
+        }
+        return mnemonics;
+    }
+
+    private static byte[] entropy(final Words words, final int count) {
+        final byte[] entropy = new byte[words.byteLength() * count];
+        new Random(count + words.bitLength()).nextBytes(entropy);
+        return entropy;
+    }
+
+    private static final class TrickleInputStream extends FilterInputStream {
+
+        TrickleInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return super.read(b, off, Math.min(len, 7));
+        }
+    }
+}
@@ -34,4 +34,12 @@ public final class Hex {
             return hex;
         }
     }
+
+    public static byte[] fromHex(String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(i * 2, i * 2 + 2), 16);
+        }
+        return bytes;
+    }
 }
\ No newline at end of file
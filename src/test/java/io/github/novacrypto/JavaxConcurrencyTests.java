@@ -0,0 +1,91 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.JavaxMacPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.JavaxPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+
+public final class JavaxConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final int SEEDS_PER_THREAD = 12;
+
+    @Test
+    public void concurrent_secret_key_factory_calculations_match_single_threaded() throws Exception {
+        assertConcurrentCalculationsMatch(JavaxPBKDF2WithHmacSHA512.INSTANCE);
+    }
+
+    @Test
+    public void concurrent_mac_calculations_match_single_threaded() throws Exception {
+        assertConcurrentCalculationsMatch(JavaxMacPBKDF2WithHmacSHA512.INSTANCE);
+    }
+
+    private static void assertConcurrentCalculationsMatch(final PBKDF2WithHmacSHA512 hashAlgorithm)
+            throws Exception {
+        final SeedCalculator javax = new SeedCalculator(hashAlgorithm);
+        final SeedCalculator reference = new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE);
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                results.add(executor.submit((Callable<List<String>>) () -> {
+                    start.await();
+                    final List<String> seeds = new ArrayList<>();
+                    for (int i = 0; i < SEEDS_PER_THREAD; i++) {
+                        seeds.add(toHex(javax.calculateSeed(mnemonic(thread, i), "")));
+                    }
+                    return seeds;
+                }));
+            }
+            start.countDown();
+            for (int t = 0; t < THREADS; t++) {
+                final List<String> seeds = results.get(t).get();
+                for (int i = 0; i < SEEDS_PER_THREAD; i++) {
+                    assertEquals(toHex(reference.calculateSeed(mnemonic(t, i), "")), seeds.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String mnemonic(final int thread, final int i) {
+        return "thread " + thread + " seed " + i;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.Validation.InvalidWordCountException;
+import io.github.novacrypto.bip39.Validation.UnexpectedWhiteSpaceException;
+import io.github.novacrypto.bip39.Validation.WordNotFoundException;
+import io.github.novacrypto.bip39.ValidationStatus;
+import io.github.novacrypto.bip39.WordList;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class LastWordCompletionTests {
+
+    private final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+
+    @Test
+    public void abandon_times_eleven() throws Exception {
+        final List<String> lastWords = validator.findLastWords(
+                "abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon");
+        assertEquals(128, lastWords.size());
+        assertEquals("about", lastWords.get(0));
+    }
+
+    @Test
+    public void every_word_count_matches_brute_force() throws Exception {
+        final Random random = new Random(5);
+        for (int ms = 3; ms <= 24; ms += 3) {
+            for (int n = 0; n < 3; n++) {
+                final String partial = randomWords(English.INSTANCE, random, ms - 1);
+                final int[] wordIndexes = new int[1 << 10];
+                final int count = validator.findLastWords(partial, wordIndexes);
+                assertEquals(1 << (11 - ms / 3), count);
+                assertEquals(partial, bruteForce(validator, English.INSTANCE, partial), toList(wordIndexes, count));
+            }
+        }
+    }
+
+    @Test
+    public void japanese() throws Exception {
+        final MnemonicValidator japanese = MnemonicValidator.ofWordList(Japanese.INSTANCE);
+        final String partial = randomWords(Japanese.INSTANCE, new Random(6), 23);
+        final int[] wordIndexes = new int[8];
+        assertEquals(8, japanese.findLastWords(partial, wordIndexes));
+        assertEquals(bruteForce(japanese, Japanese.INSTANCE, partial), toList(wordIndexes, 8));
+    }
+
+    @Test
+    public void words_give_a_valid_mnemonic() throws Exception {
+        final String partial = randomWords(English.INSTANCE, new Random(7), 17);
+        for (final String lastWord : validator.findLastWords(partial)) {
+            validator.validate(partial + " " + lastWord);
+        }
+    }
+
+    @Test
+    public void wrong_word_count() {
+        assertThatThrownBy(() -> validator.findLastWords("abandon abandon abandon"))
+                .isInstanceOf(InvalidWordCountException.class);
+        assertThatThrownBy(() -> validator.findLastWords(randomWords(English.INSTANCE, new Random(8), 26)))
+                .isInstanceOf(InvalidWordCountException.class);
+    }
+
+    @Test
+    public void unknown_word() {
+        assertThatThrownBy(() -> validator.findLastWords("abandon abandom"))
+                .isInstanceOf(WordNotFoundException.class)
+                .hasMessage("Word not found in word list \"abandom\", suggestions \"abandon\", \"ability\"");
+    }
+
+    @Test
+    public void double_space() {
+        assertThatThrownBy(() -> validator.findLastWords("abandon  abandon"))
+                .isInstanceOf(UnexpectedWhiteSpaceException.class);
+    }
+
+    @Test
+    public void not_enough_room() {
+        assertThatThrownBy(() -> validator.findLastWords("abandon abandon", new int[1023]))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Need room for 1024 word indexes");
+    }
+
+    private static List<Integer> bruteForce(final MnemonicValidator validator, final WordList wordList,
+                                            final String partial) {
+        final List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < 1 << 11; i++) {
+            if (ValidationStatus.isValid(validator.check(partial + wordList.getSpace() + wordList.getWord(i))))
+                valid.add(i);
+        }
+        return valid;
+    }
+
+    private static List<Integer> toList(final int[] wordIndexes, final int count) {
+        final List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) list.add(wordIndexes[i]);
+        return list;
+    }
+
+    private static String randomWords(final WordList wordList, final Random random, final int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(wordList.getSpace());
+            sb.append(wordList.getWord(random.nextInt(1 << 11)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicGenerator;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.SeedCalculatorByWordListLookUp;
+import io.github.novacrypto.bip39.WordList;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.French;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import io.github.novacrypto.bip39.wordlists.Spanish;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import static io.github.novacrypto.Hex.fromHex;
+import static io.github.novacrypto.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class MnemonicAndSeedTests {
+
+    @Test
+    public void all_english_test_vectors() {
+        final SeedCalculatorByWordListLookUp seedCalculator = new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE);
+        for (final String[] testCase : EnglishJson.load().english) {
+            final StringBuilder sb = new StringBuilder();
+            final byte[] seed = seedCalculator.createMnemonicAndSeed(fromHex(testCase[0]), sb::append, "TREZOR");
+            assertEquals(testCase[1], sb.toString());
+            assertEquals(testCase[2], toHex(seed));
+        }
+    }
+
+    @Test
+    public void all_japanese_test_vectors() {
+        assertAllVectors(TestVectorJson.loadJapanese(), Japanese.INSTANCE);
+    }
+
+    @Test
+    public void all_french_test_vectors() {
+        assertAllVectors(TestVectorJson.loadFrench(), French.INSTANCE);
+    }
+
+    @Test
+    public void all_spanish_test_vectors() {
+        assertAllVectors(TestVectorJson.loadSpanish(), Spanish.INSTANCE);
+    }
+
+    @Test
+    public void into_buffer() {
+        final String[] testCase = EnglishJson.load().english[5];
+        final StringBuilder sb = new StringBuilder();
+        final byte[] out = new byte[65];
+        new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                .withWordsFromWordList(English.INSTANCE)
+                .createMnemonicAndSeed(fromHex(testCase[0]), sb::append, "TREZOR", out, 1);
+        assertEquals(testCase[1], sb.toString());
+        assertEquals("00" + testCase[2], toHex(out));
+    }
+
+    @Test
+    public void bad_entropy() {
+        assertThatThrownBy(() -> new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE)
+                .createMnemonicAndSeed(new byte[15], sb -> {
+                }, ""))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Entropy too low, 128-256 bits allowed");
+    }
+
+    @Test
+    public void no_room_for_seed_writes_no_words() {
+        final StringBuilder sb = new StringBuilder();
+        assertThatThrownBy(() -> new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE)
+                .createMnemonicAndSeed(new byte[16], sb::append, "", new byte[64], 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertEquals("", sb.toString());
+    }
+
+    private static void assertAllVectors(final TestVectorJson data, final WordList wordList) {
+        final SeedCalculatorByWordListLookUp seedCalculator = new SeedCalculator()
+                .withWordsFromWordList(wordList);
+        for (final TestVector testVector : data.vectors) {
+            final StringBuilder sb = new StringBuilder();
+            final byte[] seed = seedCalculator.createMnemonicAndSeed(fromHex(testVector.entropy), sb::append,
+                    testVector.passphrase);
+            assertEquals(testVector.mnemonic, sb.toString());
+            assertEquals(testVector.seed, toHex(seed));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicFactory;
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.Words;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class MnemonicFactoryTests {
+
+    @Test
+    public void every_size_is_valid() throws Exception {
+        final MnemonicFactory factory = new MnemonicFactory(English.INSTANCE);
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        for (final Words words : Words.values()) {
+            for (int i = 0; i < 20; i++) {
+                final StringBuilder sb = new StringBuilder();
+                factory.random(words, sb::append);
+                validator.validate(sb);
+                assertEquals(words.bitLength() * 33 / 32 / 11, sb.toString().split(" ").length);
+            }
+        }
+    }
+
+    @Test
+    public void into_char_array() throws Exception {
+        final char[] out = new char[300];
+        final int length = new MnemonicFactory(Japanese.INSTANCE).random(Words.TWENTY_FOUR, out, 5);
+        MnemonicValidator.ofWordList(Japanese.INSTANCE).validate(new String(out, 5, length));
+    }
+
+    @Test
+    public void no_repeats_across_block_boundaries() throws Exception {
+        final MnemonicFactory factory = new MnemonicFactory(English.INSTANCE, 40);
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        final Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            final StringBuilder sb = new StringBuilder();
+            factory.random(i % 2 == 0 ? Words.TWELVE : Words.TWENTY_FOUR, sb::append);
+            validator.validate(sb);
+            seen.add(sb.toString());
+        }
+        assertEquals(1000, seen.size());
+    }
+
+    @Test
+    public void no_repeats_across_threads() throws Exception {
+        final MnemonicFactory factory = new MnemonicFactory(English.INSTANCE);
+        final List<String> all = Collections.synchronizedList(new ArrayList<>());
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    final StringBuilder sb = new StringBuilder();
+                    factory.random(Words.TWELVE, sb::append);
+                    all.add(sb.toString());
+                }
+            }));
+        }
+        for (final Thread thread : threads) thread.start();
+        for (final Thread thread : threads) thread.join();
+        assertEquals(4000, all.size());
+        assertEquals(4000, new HashSet<>(all).size());
+    }
+
+    @Test
+    public void block_must_fit_largest_entropy() {
+        assertThatThrownBy(() -> new MnemonicFactory(English.INSTANCE, 31))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Block size must be at least 32");
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicGenerator;
+import io.github.novacrypto.bip39.WordList;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.French;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import io.github.novacrypto.bip39.wordlists.Spanish;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import static io.github.novacrypto.Hex.fromHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class MnemonicGenerationIntoBufferTests {
+
+    private static final String LONG_MNEMONIC = "legal winner thank year wave sausage worth useful legal winner thank year wave sausage worth useful legal will";
+
+    @Test
+    public void all_english_test_vectors() {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        for (final String[] testCase : EnglishJson.load().english) {
+            assertAllOutputs(generator, testCase[0], testCase[1]);
+        }
+    }
+
+    @Test
+    public void all_japanese_test_vectors() {
+        assertAllVectors(TestVectorJson.loadJapanese(), Japanese.INSTANCE);
+    }
+
+    @Test
+    public void all_french_test_vectors() {
+        assertAllVectors(TestVectorJson.loadFrench(), French.INSTANCE);
+    }
+
+    @Test
+    public void all_spanish_test_vectors() {
+        assertAllVectors(TestVectorJson.loadSpanish(), Spanish.INSTANCE);
+    }
+
+    @Test
+    public void shorter_after_longer_on_same_thread() {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        assertAllOutputs(generator, "7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f", LONG_MNEMONIC);
+        assertAllOutputs(generator, "80808080808080808080808080808080",
+                "letter advice cage absurd amount doctor acoustic avoid letter advice cage above");
+    }
+
+    @Test
+    public void array_too_small_is_untouched() {
+        final char[] out = new char[LONG_MNEMONIC.length() + 1];
+        Arrays.fill(out, '#');
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(fromHex("7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f"), out, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Need " + LONG_MNEMONIC.length() + " chars from offset 2");
+        assertEquals(repeat('#', out.length), new String(out));
+    }
+
+    @Test
+    public void heap_buffer_too_small() {
+        final CharBuffer buffer = CharBuffer.allocate(LONG_MNEMONIC.length() - 1);
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(fromHex("7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f"), buffer))
+                .isInstanceOf(BufferOverflowException.class);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void heap_buffer_limit_is_respected() {
+        final char[] array = new char[LONG_MNEMONIC.length() + 10];
+        Arrays.fill(array, '#');
+        final CharBuffer buffer = CharBuffer.wrap(array, 2, LONG_MNEMONIC.length() - 1);
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(fromHex("7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f"), buffer))
+                .isInstanceOf(BufferOverflowException.class);
+        assertEquals(2, buffer.position());
+        assertEquals(repeat('#', array.length), new String(array));
+    }
+
+    @Test
+    public void heap_slice_limit_is_respected() {
+        final char[] array = new char[LONG_MNEMONIC.length() + 10];
+        Arrays.fill(array, '#');
+        final CharBuffer wrapped = CharBuffer.wrap(array);
+        wrapped.position(4);
+        final CharBuffer slice = wrapped.slice();
+        slice.limit(LONG_MNEMONIC.length() - 1);
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(fromHex("7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f"), slice))
+                .isInstanceOf(BufferOverflowException.class);
+        assertEquals(0, slice.position());
+        assertEquals(repeat('#', array.length), new String(array));
+    }
+
+    @Test
+    public void bad_entropy_into_heap_buffer() {
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(new byte[15], CharBuffer.allocate(1000)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Entropy too low, 128-256 bits allowed");
+    }
+
+    @Test
+    public void direct_buffer_too_small() {
+        final CharBuffer buffer = ByteBuffer.allocateDirect((LONG_MNEMONIC.length() - 1) * 2).asCharBuffer();
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(fromHex("7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f7f"), buffer))
+                .isInstanceOf(BufferOverflowException.class);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void bad_entropy() {
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(new byte[15], new char[1000], 0))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Entropy too low, 128-256 bits allowed");
+    }
+
+    private static void assertAllVectors(final TestVectorJson data, final WordList wordList) {
+        final MnemonicGenerator generator = new MnemonicGenerator(wordList);
+        for (final TestVector testVector : data.vectors) {
+            assertAllOutputs(generator, testVector.entropy, testVector.mnemonic);
+        }
+    }
+
+    private static void assertAllOutputs(final MnemonicGenerator generator, final String entropyHex,
+                                         final String expected) {
+        final byte[] entropy = fromHex(entropyHex);
+
+        final char[] array = new char[expected.length() + 3];
+        assertEquals(expected.length(), generator.createMnemonic(entropy, array, 3));
+        assertEquals(expected, new String(array, 3, expected.length()));
+
+        final CharBuffer heap = CharBuffer.allocate(expected.length() + 10);
+        heap.position(5);
+        final CharBuffer slice = heap.slice();
+        slice.position(1);
+        assertEquals(expected.length(), generator.createMnemonic(entropy, slice));
+        assertEquals(expected.length() + 1, slice.position());
+        slice.flip();
+        slice.position(1);
+        assertEquals(expected, slice.toString());
+
+        final CharBuffer direct = ByteBuffer.allocateDirect((expected.length() + 2) * 2).asCharBuffer();
+        direct.position(2);
+        assertEquals(expected.length(), generator.createMnemonic(entropy, direct));
+        direct.flip();
+        direct.position(2);
+        assertEquals(expected, direct.toString());
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
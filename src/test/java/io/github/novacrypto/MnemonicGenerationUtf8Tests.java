@@ -0,0 +1,234 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicChannelWriter;
+import io.github.novacrypto.bip39.MnemonicGenerator;
+import io.github.novacrypto.bip39.WordList;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.French;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import io.github.novacrypto.bip39.wordlists.Spanish;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static io.github.novacrypto.Hex.fromHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class MnemonicGenerationUtf8Tests {
+
+    @Test
+    public void all_english_test_vectors() {
+        final MnemonicGenerator generator = new MnemonicGenerator(English.INSTANCE);
+        for (final String[] testCase : EnglishJson.load().english) {
+            assertUtf8(generator, testCase[0], testCase[1]);
+        }
+    }
+
+    @Test
+    public void all_japanese_test_vectors() {
+        assertAllVectors(TestVectorJson.loadJapanese(), Japanese.INSTANCE);
+    }
+
+    @Test
+    public void all_french_test_vectors() {
+        assertAllVectors(TestVectorJson.loadFrench(), French.INSTANCE);
+    }
+
+    @Test
+    public void all_spanish_test_vectors() {
+        assertAllVectors(TestVectorJson.loadSpanish(), Spanish.INSTANCE);
+    }
+
+    @Test
+    public void buffer_too_small_is_untouched() {
+        final ByteBuffer buffer = ByteBuffer.allocate(20);
+        assertThatThrownBy(() -> new MnemonicGenerator(English.INSTANCE)
+                .createMnemonic(new byte[16], buffer))
+                .isInstanceOf(BufferOverflowException.class);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void channel_writer_writes_lines_in_batches() throws IOException {
+        final TestVectorJson data = TestVectorJson.loadJapanese();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final CountingChannel channel = new CountingChannel(Channels.newChannel(bytes));
+        final MnemonicChannelWriter writer =
+                new MnemonicChannelWriter(new MnemonicGenerator(Japanese.INSTANCE), channel, 1024);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            for (final TestVector testVector : data.vectors) {
+                writer.write(fromHex(testVector.entropy));
+                expected.append(testVector.mnemonic).append('\n');
+            }
+        }
+        writer.flush();
+        assertEquals(expected.toString(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+        assertTrue(channel.writes < 10 * data.vectors.length / 2);
+    }
+
+    @Test
+    public void channel_writer_buffer_must_fit_a_mnemonic() {
+        assertThatThrownBy(() -> new MnemonicChannelWriter(new MnemonicGenerator(English.INSTANCE),
+                Channels.newChannel(new ByteArrayOutputStream()), 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Buffer size must be at least ");
+    }
+
+    @Test
+    public void channel_writer_keeps_data_when_channel_fails() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final FailOnceChannel channel = new FailOnceChannel(Channels.newChannel(bytes));
+        final MnemonicChannelWriter writer =
+                new MnemonicChannelWriter(new MnemonicGenerator(English.INSTANCE), channel);
+        writer.write(fromHex("80808080808080808080808080808080"));
+        assertThatThrownBy(writer::flush).isInstanceOf(IOException.class);
+        writer.flush();
+        assertEquals("letter advice cage absurd amount doctor acoustic avoid letter advice cage above\n",
+                new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static void assertAllVectors(final TestVectorJson data, final WordList wordList) {
+        final MnemonicGenerator generator = new MnemonicGenerator(wordList);
+        for (final TestVector testVector : data.vectors) {
+            assertUtf8(generator, testVector.entropy, testVector.mnemonic);
+        }
+    }
+
+    private static void assertUtf8(final MnemonicGenerator generator, final String entropyHex,
+                                   final String expected) {
+        final byte[] expectedBytes = expected.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(expectedBytes.length + 1);
+        buffer.put((byte) 1);
+        assertEquals(expectedBytes.length, generator.createMnemonic(fromHex(entropyHex), buffer));
+        assertEquals(buffer.capacity(), buffer.position());
+        buffer.flip();
+        buffer.get();
+        final byte[] actual = new byte[expectedBytes.length];
+        buffer.get(actual);
+        assertEquals(expected, new String(actual, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void channel_writer_zeroes_drained_bytes_when_channel_fails_part_way() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final PartialThenFailChannel channel = new PartialThenFailChannel(Channels.newChannel(bytes), 10);
+        final MnemonicChannelWriter writer =
+                new MnemonicChannelWriter(new MnemonicGenerator(English.INSTANCE), channel);
+        final String mnemonic = "letter advice cage absurd amount doctor acoustic avoid letter advice cage above\n";
+        writer.write(fromHex("80808080808080808080808080808080"));
+        assertThatThrownBy(writer::flush).isInstanceOf(IOException.class);
+        final ByteBuffer buffer = channel.buffer;
+        final int undrained = mnemonic.length() - 10;
+        assertEquals(undrained, buffer.position());
+        for (int i = 0; i < undrained; i++) {
+            assertEquals(mnemonic.charAt(10 + i), (char) buffer.get(i));
+        }
+        for (int i = undrained; i < buffer.capacity(); i++) {
+            assertEquals("Byte " + i, 0, buffer.get(i));
+        }
+        writer.flush();
+        assertEquals(mnemonic, new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static class CountingChannel implements WritableByteChannel {
+        private final WritableByteChannel channel;
+        int writes;
+
+        CountingChannel(final WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            writes++;
+            return channel.write(src);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class FailOnceChannel extends CountingChannel {
+
+        FailOnceChannel(final WritableByteChannel channel) {
+            super(channel);
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            if (writes++ == 0)
+                throw new IOException("Failed");
+            return super.write(src);
+        }
+    }
+
+    /**
+     * Writes only the first few bytes then fails once, keeping hold of the buffer it was given.
+     */
+    private static final class PartialThenFailChannel extends CountingChannel {
+        private final int partial;
+        ByteBuffer buffer;
+
+        PartialThenFailChannel(final WritableByteChannel channel, final int partial) {
+            super(channel);
+            this.partial = partial;
+        }
+
+        @Override
+        public int write(final ByteBuffer src) throws IOException {
+            buffer = src;
+            if (writes == 0) {
+                final ByteBuffer part = src.duplicate();
+                part.limit(src.position() + partial);
+                final int written = super.write(part);
+                src.position(part.position());
+                return written;
+            }
+            if (writes == 1) {
+                writes++;
+                throw new IOException("Failed");
+            }
+            return super.write(src);
+        }
+    }
+}
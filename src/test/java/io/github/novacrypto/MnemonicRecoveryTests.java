@@ -0,0 +1,231 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicRecovery;
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.RecoveryRange;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.ValidationStatus;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public final class MnemonicRecoveryTests {
+
+    private static final String[] WORDS = ("legal winner thank year wave sausage worth useful legal winner thank " +
+            "yellow").split(" ");
+
+    private final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+
+    @Test
+    public void one_unknown_anywhere_matches_brute_force() {
+        for (int position = 0; position < 12; position++) {
+            final String[] template = WORDS.clone();
+            template[position] = "?";
+            final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, join(template));
+            assertEquals(position == 11 ? 128 : 2048, recovery.getSize());
+            assertEquals("position " + position, bruteForce(template), collect(recovery.range()));
+        }
+    }
+
+    @Test
+    public void unknown_last_word_gives_only_valid_completions() throws Exception {
+        final String[] template = WORDS.clone();
+        template[11] = "?";
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, join(template));
+        final List<String> found = collect(recovery.range());
+        assertEquals(128, found.size());
+        assertEquals(validator.findLastWords(join(Arrays.copyOf(WORDS, 11))).size(), found.size());
+    }
+
+    @Test
+    public void two_unknowns_with_candidates() {
+        final String[] template = WORDS.clone();
+        template[2] = "?";
+        template[11] = "?";
+        final List<String> candidates = Arrays.asList("thank", "they", "that", "theme", "then", "thank");
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, join(template))
+                .withCandidates(2, candidates)
+                .withCandidates(11, Arrays.asList("yellow", "year", "yard", "young", "youth"));
+        assertEquals(25, recovery.getSize());
+        final List<String> expected = new ArrayList<>();
+        for (final String word2 : new TreeSet<>(candidates)) {
+            for (final String word11 : new String[]{"yard", "year", "yellow", "young", "youth"}) {
+                template[2] = word2;
+                template[11] = word11;
+                if (ValidationStatus.isValid(validator.check(join(template)))) expected.add(join(template));
+            }
+        }
+        Collections.sort(expected);
+        final List<String> found = collect(recovery.range());
+        Collections.sort(found);
+        assertEquals(expected, found);
+        assertEquals(true, found.contains(join(WORDS)));
+    }
+
+    @Test
+    public void splits_cover_the_range_once_in_parallel() {
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE,
+                "legal winner ? year wave sausage worth useful legal winner thank ?");
+        final Set<Long> ranks = new ConcurrentSkipListSet<>();
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final long count;
+        try {
+            count = recovery.forEachCandidate((rank, wordIndexes) -> {
+                assertEquals(true, ranks.add(rank));
+                assertEquals(recovery.getMnemonic(rank), mnemonic(wordIndexes));
+            }, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(2048 * 128, recovery.getSize());
+        assertEquals(recovery.getSize(), count);
+        assertEquals(count, ranks.size());
+    }
+
+    @Test
+    public void split_ranges_resume_from_any_rank() {
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE,
+                "? winner thank year wave sausage worth useful legal winner thank yellow");
+        final List<String> whole = collect(recovery.range());
+        final RecoveryRange range = recovery.range();
+        final List<RecoveryRange> parts = new ArrayList<>();
+        RecoveryRange prefix;
+        while ((prefix = range.trySplit()) != null) parts.add(prefix);
+        parts.add(range);
+        final List<String> pieced = new ArrayList<>();
+        for (final RecoveryRange part : parts) pieced.addAll(collect(part));
+        assertEquals(whole, pieced);
+    }
+
+    @Test
+    public void no_unknowns() {
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, join(WORDS));
+        assertEquals(1, recovery.getSize());
+        assertEquals(Collections.singletonList(join(WORDS)), collect(recovery.range()));
+    }
+
+    @Test
+    public void twenty_four_words_japanese() {
+        final TestVector vector = TestVectorJson.loadJapanese().vectors[20];
+        final String[] words = vector.mnemonic.split("[ 　]");
+        assertEquals(24, words.length);
+        final String[] template = words.clone();
+        template[5] = "?";
+        template[23] = "?";
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(Japanese.INSTANCE,
+                String.join("　", template));
+        assertEquals(2048 * 8, recovery.getSize());
+        final MnemonicValidator japanese = MnemonicValidator.ofWordList(Japanese.INSTANCE);
+        final long[] seen = new long[1];
+        recovery.range().forEachRemaining((rank, wordIndexes) -> {
+            final String mnemonic = recovery.getMnemonic(rank);
+            assertEquals(ValidationStatus.VALID, japanese.check(mnemonic));
+            seen[0]++;
+        });
+        assertEquals(2048 * 8, seen[0]);
+    }
+
+    @Test
+    public void find_seed() {
+        final String[] vector = EnglishJson.load().english[3];
+        final String mnemonic = vector[1];
+        final String[] template = mnemonic.split(" ");
+        final String missing = template[4];
+        template[4] = "?";
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, join(template))
+                .withCandidates(4, Arrays.asList("abandon", "zoo", missing, "wrong", "legal", "winner"));
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(mnemonic, recovery.findSeed(new SeedCalculator(), "TREZOR",
+                    seed -> toHex(seed).equals(vector[2]), pool));
+            assertNull(recovery.findSeed(new SeedCalculator(), "TREZOX",
+                    seed -> toHex(seed).equals(vector[2]), pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void bad_templates() {
+        assertThatThrownBy(() -> MnemonicRecovery.ofTemplate(English.INSTANCE, "legal ? thank year"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a correct number of words 4");
+        assertThatThrownBy(() -> MnemonicRecovery.ofTemplate(English.INSTANCE, "legal ? thankz"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Word not found in word list \"thankz\" at position 2");
+        assertThatThrownBy(() -> MnemonicRecovery.ofTemplate(English.INSTANCE, "legal ? thank")
+                .withCandidates(0, Collections.singletonList("legal")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Position 0 is not unknown");
+        assertThatThrownBy(() -> MnemonicRecovery.ofTemplate(English.INSTANCE, "legal ? thank").range(0, 2049))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<String> bruteForce(final String[] template) {
+        final List<String> valid = new ArrayList<>();
+        final int position = Arrays.asList(template).indexOf("?");
+        final String[] candidate = template.clone();
+        for (int i = 0; i < 1 << 11; i++) {
+            candidate[position] = English.INSTANCE.getWord(i);
+            if (ValidationStatus.isValid(validator.check(join(candidate)))) valid.add(join(candidate));
+        }
+        return valid;
+    }
+
+    private static List<String> collect(final RecoveryRange range) {
+        final List<String> found = new ArrayList<>();
+        range.forEachRemaining((rank, wordIndexes) -> found.add(mnemonic(wordIndexes)));
+        return found;
+    }
+
+    private static String mnemonic(final int[] wordIndexes) {
+        final StringBuilder sb = new StringBuilder();
+        for (final int wordIndex : wordIndexes) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(English.INSTANCE.getWord(wordIndex));
+        }
+        return sb.toString();
+    }
+
+    private static String join(final String[] words) {
+        return String.join(" ", words);
+    }
+}
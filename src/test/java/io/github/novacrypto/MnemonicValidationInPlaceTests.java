@@ -0,0 +1,117 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.ValidationStatus;
+import io.github.novacrypto.bip39.Validation.InvalidChecksumException;
+import io.github.novacrypto.bip39.Validation.InvalidWordCountException;
+import io.github.novacrypto.bip39.Validation.UnexpectedWhiteSpaceException;
+import io.github.novacrypto.bip39.Validation.WordNotFoundException;
+import io.github.novacrypto.bip39.WordList;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class MnemonicValidationInPlaceTests {
+
+    @Test
+    public void whole_string_agrees_with_word_list_for_english() {
+        agreesWithWordList(English.INSTANCE, 1);
+    }
+
+    @Test
+    public void whole_string_agrees_with_word_list_for_japanese() {
+        agreesWithWordList(Japanese.INSTANCE, 2);
+    }
+
+    @Test
+    public void word_not_found_reports_the_token_only() {
+        assertThatThrownBy(() -> MnemonicValidator.ofWordList(English.INSTANCE)
+                .validate("abandon abandon abandoz abandon"))
+                .isInstanceOf(WordNotFoundException.class)
+                .hasMessage("Word not found in word list \"abandoz\", suggestions \"abandon\", \"ability\"");
+    }
+
+    @Test
+    public void trailing_space() {
+        assertThatThrownBy(() -> MnemonicValidator.ofWordList(English.INSTANCE)
+                .validate("abandon abandon abandon "))
+                .isInstanceOf(UnexpectedWhiteSpaceException.class);
+    }
+
+    @Test
+    public void more_than_twenty_four_words_then_twenty_four() throws Exception {
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+        final StringBuilder longMnemonic = new StringBuilder("abandon");
+        for (int i = 1; i < 100; i++) longMnemonic.append(" abandon");
+        assertThatThrownBy(() -> validator.validate(longMnemonic))
+                .isInstanceOf(InvalidWordCountException.class);
+        validator.validate("legal winner thank year wave sausage worth useful legal winner thank year wave sausage " +
+                "worth useful legal winner thank year wave sausage worth title");
+    }
+
+    private static void agreesWithWordList(final WordList wordList, final long seed) {
+        final MnemonicValidator validator = MnemonicValidator.ofWordList(wordList);
+        final Random random = new Random(seed);
+        final String space = String.valueOf(wordList.getSpace());
+        int valid = 0;
+        for (int n = 0; n < 3000; n++) {
+            final List<String> words = new ArrayList<>();
+            final int wordCount = 1 + random.nextInt(30);
+            for (int i = 0; i < wordCount; i++) {
+                words.add(random.nextInt(500) == 0 ? "" : wordList.getWord(random.nextInt(1 << 11)));
+            }
+            final String wholeString = String.join(space, words);
+            final String expected = outcome(() -> validator.validate(words));
+            assertEquals(wholeString, expected, outcome(() -> validator.validate(wholeString)));
+            assertEquals(wholeString, validator.check(words), validator.check(wholeString));
+            assertEquals(wholeString, "valid".equals(expected), ValidationStatus.isValid(validator.check(words)));
+            if ("valid".equals(expected)) valid++;
+        }
+        assertEquals(true, valid > 0);
+    }
+
+    private interface Validation {
+        void run() throws Exception;
+    }
+
+    private static String outcome(final Validation validation) {
+        try {
+            validation.run();
+            return "valid";
+        } catch (InvalidChecksumException | InvalidWordCountException | UnexpectedWhiteSpaceException e) {
+            return e.getClass().getSimpleName();
+        } catch (WordNotFoundException e) {
+            return e.getMessage();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
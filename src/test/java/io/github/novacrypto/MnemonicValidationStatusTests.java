@@ -0,0 +1,140 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.ValidationStatus;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import io.github.novacrypto.testjson.EnglishJson;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static io.github.novacrypto.TestCharSequence.preventToStringAndSubSequence;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class MnemonicValidationStatusTests {
+
+    private final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+
+    @Test
+    public void valid() {
+        final int status = validator.check("abandon abandon abandon abandon abandon abandon abandon abandon " +
+                "abandon abandon abandon about");
+        assertTrue(ValidationStatus.isValid(status));
+        assertEquals(ValidationStatus.VALID, ValidationStatus.getOutcome(status));
+        assertEquals(-1, ValidationStatus.getWordPosition(status));
+        assertEquals("VALID", ValidationStatus.toString(status));
+    }
+
+    @Test
+    public void all_english_test_vectors() {
+        for (final String[] testCase : EnglishJson.load().english) {
+            assertEquals(testCase[1], ValidationStatus.VALID, validator.check(testCase[1]));
+            assertEquals(testCase[1], ValidationStatus.VALID,
+                    validator.check(Arrays.asList(testCase[1].split(" "))));
+        }
+    }
+
+    @Test
+    public void bad_checksum() {
+        final int status = validator.check("abandon abandon abandon abandon abandon abandon abandon abandon " +
+                "abandon abandon abandon abandon");
+        assertFalse(ValidationStatus.isValid(status));
+        assertEquals(ValidationStatus.INVALID_CHECKSUM, ValidationStatus.getOutcome(status));
+        assertEquals(-1, ValidationStatus.getWordPosition(status));
+        assertEquals("INVALID_CHECKSUM", ValidationStatus.toString(status));
+    }
+
+    @Test
+    public void bad_word_count() {
+        final int status = validator.check("abandon abandon abandon abandon");
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, ValidationStatus.getOutcome(status));
+        assertEquals("INVALID_WORD_COUNT", ValidationStatus.toString(status));
+    }
+
+    @Test
+    public void empty_collection_is_bad_word_count() {
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, validator.check(Collections.<CharSequence>emptyList()));
+    }
+
+    @Test
+    public void word_count_not_a_multiple_of_three_in_collection() {
+        assertEquals(ValidationStatus.INVALID_WORD_COUNT, validator.check(Arrays.asList("abandon", "about")));
+    }
+
+    @Test
+    public void more_than_24_words_is_bad_word_count() {
+        for (final int wordCount : new int[]{27, 48}) {
+            final String[] words = repeat(wordCount, wordCount == 27 ? "abandon" : "zoo");
+            assertEquals(ValidationStatus.INVALID_WORD_COUNT, validator.check(String.join(" ", words)));
+            assertEquals(ValidationStatus.INVALID_WORD_COUNT, validator.check(Arrays.asList(words)));
+        }
+    }
+
+    @Test
+    public void unknown_word_position() {
+        final int status = validator.check("abandon abandon abandon abandon abandon abandon abandon abandon " +
+                "abandon abandon abandom about");
+        assertEquals(ValidationStatus.WORD_NOT_FOUND, ValidationStatus.getOutcome(status));
+        assertEquals(10, ValidationStatus.getWordPosition(status));
+        assertEquals("WORD_NOT_FOUND at word 10", ValidationStatus.toString(status));
+    }
+
+    @Test
+    public void first_failure_wins() {
+        assertEquals(1, ValidationStatus.getWordPosition(validator.check("abandon xyz  abandon")));
+        assertEquals(ValidationStatus.UNEXPECTED_WHITE_SPACE,
+                ValidationStatus.getOutcome(validator.check("abandon  xyz abandon")));
+    }
+
+    @Test
+    public void empty_word_position() {
+        final int status = validator.check(Arrays.asList("abandon", "abandon", "", "about"));
+        assertEquals(ValidationStatus.UNEXPECTED_WHITE_SPACE, ValidationStatus.getOutcome(status));
+        assertEquals(2, ValidationStatus.getWordPosition(status));
+    }
+
+    @Test
+    public void does_not_need_to_string_or_sub_sequence() {
+        assertEquals(ValidationStatus.WORD_NOT_FOUND, ValidationStatus.getOutcome(
+                validator.check(preventToStringAndSubSequence("abandon abandom about"))));
+    }
+
+    @Test
+    public void japanese_with_ideographic_space() {
+        final int status = MnemonicValidator.ofWordList(Japanese.INSTANCE)
+                .check("そつう　れきだ　ほんやく");
+        assertEquals(ValidationStatus.WORD_NOT_FOUND, ValidationStatus.getOutcome(status));
+        assertEquals(1, ValidationStatus.getWordPosition(status));
+    }
+
+    private static String[] repeat(final int count, final String word) {
+        final String[] words = new String[count];
+        Arrays.fill(words, word);
+        return words;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.CalibratedPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.JavaxMacPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PBKDF2Calibration;
+import io.github.novacrypto.bip39.PBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.SpongyCastlePBKDF2WithHmacSHA512;
+import io.github.novacrypto.testjson.EnglishJson;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class PBKDF2CalibrationTests {
+
+    private static final PBKDF2WithHmacSHA512 BROKEN = new PBKDF2WithHmacSHA512() {
+        @Override
+        public byte[] hash(char[] chars, byte[] salt) {
+            return new byte[64];
+        }
+    };
+
+    private static final PBKDF2WithHmacSHA512 THROWING = new PBKDF2WithHmacSHA512() {
+        @Override
+        public byte[] hash(char[] chars, byte[] salt) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    public void all_library_backends_pass() {
+        final PBKDF2Calibration calibration = PBKDF2Calibration.run();
+        assertTrue(calibration.getRejected().isEmpty());
+        assertEquals(3, calibration.getNanosPerSeed().size());
+        assertFalse(calibration.getNanosPerSeed().containsKey(JavaxMacPBKDF2WithHmacSHA512.INSTANCE));
+        assertTrue(calibration.getNanosPerSeed().containsKey(calibration.getSelected()));
+    }
+
+    @Test
+    public void selects_the_fastest() {
+        final PBKDF2Calibration calibration = PBKDF2Calibration.run(Arrays.asList(
+                SpongyCastlePBKDF2WithHmacSHA512.INSTANCE,
+                PureJavaPBKDF2WithHmacSHA512.INSTANCE));
+        final long selected = calibration.getNanosPerSeed().get(calibration.getSelected());
+        for (final long nanos : calibration.getNanosPerSeed().values()) {
+            assertTrue(selected <= nanos);
+        }
+    }
+
+    @Test
+    public void rejects_wrong_and_throwing_backends() {
+        final PBKDF2Calibration calibration = PBKDF2Calibration.run(Arrays.asList(
+                BROKEN, THROWING, SpongyCastlePBKDF2WithHmacSHA512.INSTANCE));
+        assertEquals(SpongyCastlePBKDF2WithHmacSHA512.INSTANCE, calibration.getSelected());
+        assertEquals(2, calibration.getRejected().size());
+        assertTrue(calibration.getRejected().get(THROWING).contains("UnsupportedOperationException"));
+        assertFalse(calibration.getNanosPerSeed().containsKey(BROKEN));
+        assertTrue(calibration.toString().startsWith("Selected SpongyCastlePBKDF2WithHmacSHA512"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void fails_when_nothing_passes() {
+        PBKDF2Calibration.run(Arrays.asList(BROKEN, THROWING));
+    }
+
+    @Test
+    public void calibrated_backend_gives_english_test_vectors() {
+        final SeedCalculator seedCalculator = new SeedCalculator(CalibratedPBKDF2WithHmacSHA512.INSTANCE);
+        final EnglishJson data = EnglishJson.load();
+        for (final String[] testCase : data.english) {
+            assertEquals(testCase[2], toHex(seedCalculator.calculateSeed(testCase[1], "TREZOR")));
+        }
+        assertTrue(CalibratedPBKDF2WithHmacSHA512.INSTANCE.getCalibration().getRejected().isEmpty());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicValidator;
+import io.github.novacrypto.bip39.PermutationRecovery;
+import io.github.novacrypto.bip39.SearchProgress;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.ValidationStatus;
+import io.github.novacrypto.bip39.wordlists.English;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class PermutationRecoveryTests {
+
+    private final MnemonicValidator validator = MnemonicValidator.ofWordList(English.INSTANCE);
+
+    @Test
+    public void six_words_match_brute_force() {
+        final String[] words = "zoo legal winner thank year wave".split(" ");
+        final PermutationRecovery recovery = PermutationRecovery.ofWords(English.INSTANCE, String.join(" ", words));
+        assertEquals(720, recovery.getSize());
+        assertEquals(30, recovery.getShardCount());
+        final Set<String> found = new ConcurrentSkipListSet<>();
+        final SearchProgress progress = new SearchProgress();
+        final long count = recovery.forEachCandidate((rank, wordIndexes) -> found.add(mnemonic(wordIndexes)),
+                progress);
+        final List<String> expected = new ArrayList<>();
+        permute(new ArrayList<>(Arrays.asList(words)), 0, expected);
+        final List<String> valid = new ArrayList<>();
+        for (final String candidate : expected) {
+            if (ValidationStatus.isValid(validator.check(candidate))) valid.add(candidate);
+        }
+        Collections.sort(valid);
+        assertEquals(720, expected.size());
+        assertEquals(valid, new ArrayList<>(found));
+        assertEquals(valid.size(), count);
+        assertEquals(720, progress.getTested());
+        assertEquals(720, progress.getTotal());
+        assertEquals(count, progress.getFound());
+        assertEquals(1.0, progress.getFraction(), 0);
+    }
+
+    @Test
+    public void progress_restarts_from_zero_when_reused() {
+        final PermutationRecovery recovery = PermutationRecovery.ofWords(English.INSTANCE,
+                "zoo legal winner thank year wave");
+        final SearchProgress progress = new SearchProgress();
+        recovery.forEachCandidate((rank, wordIndexes) -> { }, progress);
+        final long count = recovery.forEachCandidate((rank, wordIndexes) -> { }, progress);
+        assertEquals(720, progress.getTested());
+        assertEquals(count, progress.getFound());
+        assertEquals(1.0, progress.getFraction(), 0);
+    }
+
+    @Test
+    public void nine_words_every_ordering_once_on_supplied_pool() {
+        final PermutationRecovery recovery = PermutationRecovery.ofWords(English.INSTANCE,
+                "legal winner thank year wave sausage worth useful abandon");
+        final Set<Long> ranks = new ConcurrentSkipListSet<>();
+        final Set<String> orderings = new ConcurrentSkipListSet<>();
+        final SearchProgress progress = new SearchProgress();
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        final long count;
+        try {
+            count = recovery.forEachCandidate((rank, wordIndexes) -> {
+                assertTrue(rank >= 0 && rank < recovery.getSize());
+                ranks.add(rank);
+                orderings.add(mnemonic(wordIndexes));
+            }, progress, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(362880, progress.getTested());
+        assertEquals(count, ranks.size());
+        assertEquals(count, orderings.size());
+        for (final String ordering : orderings) {
+            assertEquals(ValidationStatus.VALID, validator.check(ordering));
+        }
+    }
+
+    @Test
+    public void find_seed() throws Exception {
+        final String partial = "zoo legal winner thank year";
+        final String mnemonic = partial + " " + validator.findLastWords(partial).get(3);
+        final byte[] expectedSeed = new SeedCalculator().calculateSeed(mnemonic, "");
+        final List<String> shuffled = new ArrayList<>(Arrays.asList(mnemonic.split(" ")));
+        Collections.reverse(shuffled);
+        final PermutationRecovery recovery = PermutationRecovery.ofWords(English.INSTANCE,
+                String.join(" ", shuffled));
+        final SearchProgress progress = new SearchProgress();
+        assertEquals(mnemonic, recovery.findSeed(new SeedCalculator(), "",
+                seed -> Arrays.equals(expectedSeed, seed), progress));
+        assertTrue(progress.getTested() <= recovery.getSize());
+        assertNull(recovery.findSeed(new SeedCalculator(), "x",
+                seed -> Arrays.equals(expectedSeed, seed), new SearchProgress()));
+    }
+
+    @Test
+    public void repeated_words() {
+        final PermutationRecovery recovery = PermutationRecovery.ofWords(English.INSTANCE, "abandon abandon about");
+        final List<String> found = Collections.synchronizedList(new ArrayList<>());
+        recovery.forEachCandidate((rank, wordIndexes) -> found.add(mnemonic(wordIndexes)), new SearchProgress());
+        assertEquals(6, recovery.getSize());
+        for (final String candidate : found) {
+            assertEquals(ValidationStatus.VALID, validator.check(candidate));
+        }
+    }
+
+    @Test
+    public void bad_words() {
+        assertThatThrownBy(() -> PermutationRecovery.ofWords(English.INSTANCE, "abandon abandon"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a correct number of words 2");
+        assertThatThrownBy(() -> PermutationRecovery.ofWords(English.INSTANCE, "abandon abandom about"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Word not found in word list \"abandom\" at position 1");
+        final String[] words = new String[21];
+        Arrays.fill(words, "abandon");
+        assertThatThrownBy(() -> PermutationRecovery.ofWords(English.INSTANCE, String.join(" ", words)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Too many orderings of 21 words to search");
+    }
+
+    @Test
+    public void progress_to_string() {
+        final SearchProgress progress = new SearchProgress();
+        assertEquals(0, progress.getTested());
+        assertEquals(0.0, progress.getFraction(), 0);
+        assertArrayEquals(new String[]{"0", "of", "0"}, Arrays.copyOf(progress.toString().split(" "), 3));
+    }
+
+    private static void permute(final List<String> words, final int k, final List<String> out) {
+        if (k == words.size()) {
+            out.add(String.join(" ", words));
+            return;
+        }
+        for (int i = k; i < words.size(); i++) {
+            Collections.swap(words, k, i);
+            permute(words, k + 1, out);
+            Collections.swap(words, k, i);
+        }
+    }
+
+    private static String mnemonic(final int[] wordIndexes) {
+        final StringBuilder sb = new StringBuilder();
+        for (final int wordIndex : wordIndexes) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(English.INSTANCE.getWord(wordIndex));
+        }
+        return sb.toString();
+    }
+}
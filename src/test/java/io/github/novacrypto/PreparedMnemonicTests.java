@@ -0,0 +1,148 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.PreparedMnemonic;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.SeedPredicate;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class PreparedMnemonicTests {
+
+    private static final String MNEMONIC = "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+
+    @Test
+    public void all_english_test_vectors() {
+        final EnglishJson data = EnglishJson.load();
+        for (final String[] testCase : data.english) {
+            assertEquals(testCase[2], toHex(PreparedMnemonic.ofMnemonic(testCase[1]).calculateSeed("TREZOR")));
+        }
+    }
+
+    @Test
+    public void all_japanese_test_vectors() {
+        for (final TestVector testVector : TestVectorJson.loadJapanese().vectors) {
+            assertEquals(testVector.seed,
+                    toHex(PreparedMnemonic.ofMnemonic(testVector.mnemonic).calculateSeed(testVector.passphrase)));
+        }
+    }
+
+    @Test
+    public void many_passphrases_on_one_preparation() {
+        final PreparedMnemonic prepared = PreparedMnemonic.ofMnemonic(MNEMONIC);
+        for (final String passphrase : Arrays.asList("", "CryptoIsCool", "ｶ", "カ")) {
+            assertEquals(toHex(new SeedCalculator().calculateSeed(MNEMONIC, passphrase)),
+                    toHex(prepared.calculateSeed(passphrase)));
+        }
+    }
+
+    @Test
+    public void find_passphrase() {
+        final byte[] target = new SeedCalculator().calculateSeed(MNEMONIC, "candidate42");
+        final List<String> candidates = candidates(200);
+        assertEquals("candidate42", PreparedMnemonic.ofMnemonic(MNEMONIC)
+                .findPassphrase(candidates.iterator(), equalTo(target)));
+    }
+
+    @Test
+    public void find_passphrase_single_thread() {
+        final byte[] target = new SeedCalculator().calculateSeed(MNEMONIC, "candidate7");
+        assertEquals("candidate7", PreparedMnemonic.ofMnemonic(MNEMONIC)
+                .findPassphrase(candidates(20).iterator(), equalTo(target), 1));
+    }
+
+    @Test
+    public void find_passphrase_not_present() {
+        final byte[] target = new SeedCalculator().calculateSeed(MNEMONIC, "not a candidate");
+        assertNull(PreparedMnemonic.ofMnemonic(MNEMONIC)
+                .findPassphrase(candidates(20).iterator(), equalTo(target)));
+    }
+
+    @Test
+    public void find_passphrase_stops_early() {
+        final byte[] target = new SeedCalculator().calculateSeed(MNEMONIC, "candidate3");
+        final AtomicInteger consumed = new AtomicInteger();
+        final Iterator<String> all = candidates(10000).iterator();
+        final Iterator<String> counting = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return all.hasNext();
+            }
+
+            @Override
+            public String next() {
+                consumed.incrementAndGet();
+                return all.next();
+            }
+        };
+        assertEquals("candidate3", PreparedMnemonic.ofMnemonic(MNEMONIC)
+                .findPassphrase(counting, equalTo(target), 4));
+        assertTrue(consumed.get() < 100);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void find_passphrase_propagates_predicate_exceptions() {
+        PreparedMnemonic.ofMnemonic(MNEMONIC).findPassphrase(candidates(5).iterator(), seed -> {
+            throw new IllegalStateException();
+        }, 2);
+    }
+
+    @Test
+    public void find_passphrase_stops_all_threads_on_first_exception() {
+        final AtomicInteger tested = new AtomicInteger();
+        assertThatThrownBy(() -> PreparedMnemonic.ofMnemonic(MNEMONIC).findPassphrase(candidates(400).iterator(),
+                seed -> {
+                    if (tested.incrementAndGet() == 1) throw new IllegalStateException("first");
+                    return false;
+                }, 4))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("first");
+        assertTrue(tested.get() < 20);
+    }
+
+    private static SeedPredicate equalTo(final byte[] target) {
+        return seed -> Arrays.equals(target, seed);
+    }
+
+    private static List<String> candidates(final int count) {
+        final List<String> candidates = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            candidates.add("candidate" + i);
+        }
+        return candidates;
+    }
+}
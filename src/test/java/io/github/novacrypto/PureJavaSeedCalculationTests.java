@@ -0,0 +1,117 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.JavaxMacPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.JavaxPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.SpongyCastlePBKDF2WithHmacSHA512;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+
+public final class PureJavaSeedCalculationTests {
+
+    @Test
+    public void all_english_test_vectors() {
+        final EnglishJson data = EnglishJson.load();
+        for (final String[] testCase : data.english) {
+            assertEquals(testCase[2], calculateSeedHex(testCase[1], "TREZOR"));
+        }
+    }
+
+    @Test
+    public void all_japanese_test_vectors() {
+        assertAllVectors(TestVectorJson.loadJapanese());
+    }
+
+    @Test
+    public void all_french_test_vectors() {
+        assertAllVectors(TestVectorJson.loadFrench());
+    }
+
+    @Test
+    public void all_spanish_test_vectors() {
+        assertAllVectors(TestVectorJson.loadSpanish());
+    }
+
+    @Test
+    public void long_mnemonic_and_passphrase_parity() {
+        final StringBuilder mnemonic = new StringBuilder();
+        final StringBuilder passphrase = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            mnemonic.append("あいこくしん ");
+            passphrase.append("CryptoIsCool");
+        }
+        calculateSeedHex(mnemonic.toString(), passphrase.toString());
+    }
+
+    @Test
+    public void empty_mnemonic_parity() {
+        calculateSeedHex("", "");
+    }
+
+    @Test
+    public void batch_hash_matches_single() {
+        final char[][] passwords = new char[5][];
+        final byte[][] salts = new byte[5][];
+        for (int i = 0; i < 5; i++) {
+            passwords[i] = ("password " + i).toCharArray();
+            salts[i] = new byte[]{(byte) i, 1, 2, 3, 4, 5, 6, 7};
+        }
+        final byte[][] seeds = PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash(passwords, salts);
+        assertEquals(5, seeds.length);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(toHex(JavaxPBKDF2WithHmacSHA512.INSTANCE.hash(passwords[i], salts[i])), toHex(seeds[i]));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batch_hash_salt_count_mismatch() {
+        PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash(new char[2][0], new byte[1][0]);
+    }
+
+    private static void assertAllVectors(final TestVectorJson data) {
+        for (final TestVector testVector : data.vectors) {
+            assertEquals(testVector.seed, calculateSeedHex(testVector.mnemonic, testVector.passphrase));
+        }
+    }
+
+    private static String calculateSeedHex(final String mnemonic, final String passphrase) {
+        final String seed = calculateSeed(mnemonic, passphrase, PureJavaPBKDF2WithHmacSHA512.INSTANCE);
+        assertEquals(calculateSeed(mnemonic, passphrase, SpongyCastlePBKDF2WithHmacSHA512.INSTANCE), seed);
+        assertEquals(calculateSeed(mnemonic, passphrase, JavaxPBKDF2WithHmacSHA512.INSTANCE), seed);
+        assertEquals(calculateSeed(mnemonic, passphrase, JavaxMacPBKDF2WithHmacSHA512.INSTANCE), seed);
+        return seed;
+    }
+
+    private static String calculateSeed(final String mnemonic, final String passphrase,
+                                        final PBKDF2WithHmacSHA512 hashAlgorithm) {
+        return toHex(new SeedCalculator(hashAlgorithm).calculateSeed(mnemonic, passphrase));
+    }
+}
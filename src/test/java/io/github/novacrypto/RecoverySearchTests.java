@@ -0,0 +1,241 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicRecovery;
+import io.github.novacrypto.bip39.RecoveryRange;
+import io.github.novacrypto.bip39.RecoverySearch;
+import io.github.novacrypto.bip39.SearchProgress;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Spanish;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class RecoverySearchTests {
+
+    static final String TEMPLATE = "legal winner ? year wave sausage worth useful legal winner thank ?";
+    static final long BLOCK_SIZE = 20000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, TEMPLATE);
+
+    @Test
+    public void rank_unrank_round_trip() {
+        final MnemonicRecovery constrained = MnemonicRecovery.ofTemplate(English.INSTANCE,
+                "? winner thank year wave sausage worth useful ? winner thank yellow")
+                .withCandidates(8, Arrays.asList("legal", "abandon", "zoo"));
+        final Random random = new Random(10);
+        for (final MnemonicRecovery space : new MnemonicRecovery[]{recovery, constrained}) {
+            final int[] wordIndexes = new int[12];
+            for (int n = 0; n < 1000; n++) {
+                final long rank = (long) (random.nextDouble() * space.getSize());
+                final boolean valid = space.unrank(rank, wordIndexes);
+                assertEquals(rank, space.rank(wordIndexes));
+                assertEquals(valid, space.getMnemonic(rank) != null);
+            }
+        }
+    }
+
+    @Test
+    public void unrank_matches_range_order() {
+        final List<int[]> inOrder = new ArrayList<>();
+        final List<Long> ranks = new ArrayList<>();
+        recovery.range(1000, 1200).forEachRemaining((rank, wordIndexes) -> {
+            ranks.add(rank);
+            inOrder.add(wordIndexes.clone());
+        });
+        assertEquals(200, ranks.size());
+        final int[] wordIndexes = new int[12];
+        for (int i = 0; i < ranks.size(); i++) {
+            assertEquals(1000L + i, (long) ranks.get(i));
+            assertTrue(recovery.unrank(ranks.get(i), wordIndexes));
+            assertArrayEquals(inOrder.get(i), wordIndexes);
+        }
+    }
+
+    @Test
+    public void rank_rejects_other_candidates() {
+        final int[] wordIndexes = new int[12];
+        recovery.unrank(5, wordIndexes);
+        wordIndexes[0]++;
+        assertThatThrownBy(() -> recovery.rank(wordIndexes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Word 0 does not match the template");
+    }
+
+    @Test
+    public void shards_are_contiguous_and_cover_the_space() {
+        for (final int shardCount : new int[]{1, 3, 7, 1000}) {
+            long next = 0;
+            for (int shard = 0; shard < shardCount; shard++) {
+                final RecoveryRange range = recovery.shard(shard, shardCount);
+                assertEquals(next, range.getNextRank());
+                next += range.estimateSize();
+            }
+            assertEquals(recovery.getSize(), next);
+        }
+        assertThatThrownBy(() -> recovery.shard(3, 3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void resumes_from_checkpoint() throws Exception {
+        final Path checkpoint = folder.getRoot().toPath().resolve("shard.checkpoint");
+        final RecoverySearch search = new RecoverySearch(recovery, 1, 2, checkpoint, BLOCK_SIZE);
+        final long from = search.getNextRank();
+        final BitSet seen = new BitSet();
+        assertThatThrownBy(() -> search.run((rank, wordIndexes) -> {
+            synchronized (seen) {
+                seen.set((int) rank);
+            }
+            if (rank == from + 2 * BLOCK_SIZE + 5) throw new IllegalStateException("Crash");
+        }, new SearchProgress())).isInstanceOf(IllegalStateException.class);
+        assertTrue(Files.exists(checkpoint));
+        assertEquals(from + 2 * BLOCK_SIZE, search.getNextRank());
+        assertFalse(search.isComplete());
+
+        final SearchProgress progress = new SearchProgress();
+        final RecoverySearch resumed = new RecoverySearch(recovery, 1, 2, checkpoint, BLOCK_SIZE);
+        resumed.run((rank, wordIndexes) -> {
+            synchronized (seen) {
+                seen.set((int) rank);
+            }
+        }, progress);
+        assertTrue(resumed.isComplete());
+        assertEquals(recovery.getSize() - from, progress.getTested());
+        assertEquals(recovery.getSize() - from, seen.cardinality());
+        assertEquals((int) from, seen.nextSetBit(0));
+        assertEquals(0, resumed.run((rank, wordIndexes) -> {
+            throw new AssertionError("Already complete");
+        }, new SearchProgress()));
+    }
+
+    @Test
+    public void checkpoint_for_another_search_is_rejected() throws Exception {
+        final Path checkpoint = folder.getRoot().toPath().resolve("shard.checkpoint");
+        new RecoverySearch(recovery, 0, 4, checkpoint, BLOCK_SIZE).run((rank, wordIndexes) -> {
+        }, new SearchProgress());
+        assertThatThrownBy(() -> new RecoverySearch(recovery, 1, 4, checkpoint).getNextRank())
+                .isInstanceOf(IllegalArgumentException.class);
+        final MnemonicRecovery other = MnemonicRecovery.ofTemplate(English.INSTANCE,
+                "legal winner ? year wave sausage worth useful legal winner ? yellow");
+        assertThatThrownBy(() -> new RecoverySearch(other, 0, 4, checkpoint).getNextRank())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void checkpoint_for_same_positions_in_another_word_list_is_rejected() throws Exception {
+        final Path checkpoint = folder.getRoot().toPath().resolve("shard.checkpoint");
+        final String englishTemplate = English.INSTANCE.getWord(0) + " " + English.INSTANCE.getWord(0) + " ?";
+        final String spanishTemplate = Spanish.INSTANCE.getWord(0) + " " + Spanish.INSTANCE.getWord(0) + " ?";
+        new RecoverySearch(MnemonicRecovery.ofTemplate(English.INSTANCE, englishTemplate), 0, 1, checkpoint, 100)
+                .run((rank, wordIndexes) -> {
+                }, new SearchProgress());
+        assertTrue(new RecoverySearch(MnemonicRecovery.ofTemplate(English.INSTANCE, englishTemplate), 0, 1,
+                checkpoint).isComplete());
+        final MnemonicRecovery spanish = MnemonicRecovery.ofTemplate(Spanish.INSTANCE, spanishTemplate);
+        assertThatThrownBy(() -> new RecoverySearch(spanish, 0, 1, checkpoint).getNextRank())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Checkpoint " + checkpoint + " is for a different search");
+    }
+
+    @Test
+    public void checkpoint_for_other_candidates_is_rejected() throws Exception {
+        final Path checkpoint = folder.getRoot().toPath().resolve("shard.checkpoint");
+        final MnemonicRecovery template = MnemonicRecovery.ofTemplate(English.INSTANCE, "abandon ? ?");
+        new RecoverySearch(template.withCandidates(1, Arrays.asList("ability", "able")), 0, 1, checkpoint, 100)
+                .run((rank, wordIndexes) -> {
+                }, new SearchProgress());
+        final MnemonicRecovery other = template.withCandidates(1, Arrays.asList("ability", "about"));
+        assertThatThrownBy(() -> new RecoverySearch(other, 0, 1, checkpoint).getNextRank())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shards_in_separate_processes_cover_the_space_exactly_once() throws Exception {
+        final int shardCount = 3;
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final List<Process> processes = new ArrayList<>();
+        final List<Path> outputs = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            final Path output = folder.getRoot().toPath().resolve("shard" + shard + ".txt");
+            outputs.add(output);
+            processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    RecoveryShardMain.class.getName(), String.valueOf(shard), String.valueOf(shardCount),
+                    folder.getRoot().toPath().resolve("shard" + shard + ".checkpoint").toString(),
+                    output.toString())
+                    .inheritIO()
+                    .start());
+        }
+        for (final Process process : processes) {
+            assertTrue(process.waitFor(2, TimeUnit.MINUTES));
+            assertEquals(0, process.exitValue());
+        }
+        final BitSet seen = new BitSet();
+        long total = 0;
+        for (final Path output : outputs) {
+            for (final String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+                final int rank = Integer.parseInt(line);
+                assertFalse("rank " + rank + " found twice", seen.get(rank));
+                seen.set(rank);
+                total++;
+            }
+        }
+        assertEquals(recovery.getSize(), total);
+        assertEquals(recovery.getSize(), seen.cardinality());
+        for (int shard = 0; shard < shardCount; shard++) {
+            assertTrue(new RecoverySearch(recovery, shard, shardCount,
+                    folder.getRoot().toPath().resolve("shard" + shard + ".checkpoint")).isComplete());
+        }
+    }
+
+    @Test
+    public void progress_is_in_ranks() throws Exception {
+        final ConcurrentLinkedQueue<Long> ranks = new ConcurrentLinkedQueue<>();
+        final SearchProgress progress = new SearchProgress();
+        final long found = new RecoverySearch(recovery, 2, 3, folder.getRoot().toPath().resolve("p"), BLOCK_SIZE)
+                .run((rank, wordIndexes) -> ranks.add(rank), progress);
+        assertEquals(ranks.size(), found);
+        assertEquals(progress.getTotal(), progress.getTested());
+        assertEquals(found, progress.getFound());
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.MnemonicRecovery;
+import io.github.novacrypto.bip39.RecoverySearch;
+import io.github.novacrypto.bip39.SearchProgress;
+import io.github.novacrypto.bip39.wordlists.English;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Runs one shard of {@link RecoverySearchTests#TEMPLATE} in its own JVM, writing the ranks found one per line.
+ * Arguments: shard, shard count, checkpoint file, output file.
+ */
+public final class RecoveryShardMain {
+
+    public static void main(final String[] args) throws Exception {
+        final int shard = Integer.parseInt(args[0]);
+        final int shardCount = Integer.parseInt(args[1]);
+        final Path checkpoint = Paths.get(args[2]);
+        final Path output = Paths.get(args[3]);
+        final MnemonicRecovery recovery = MnemonicRecovery.ofTemplate(English.INSTANCE, RecoverySearchTests.TEMPLATE);
+        final ConcurrentLinkedQueue<Long> ranks = new ConcurrentLinkedQueue<>();
+        new RecoverySearch(recovery, shard, shardCount, checkpoint, RecoverySearchTests.BLOCK_SIZE)
+                .run((rank, wordIndexes) -> ranks.add(rank), new SearchProgress());
+        final List<String> lines = new ArrayList<>();
+        for (final Long rank : ranks) lines.add(rank.toString());
+        Files.write(output, lines, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.BatchStatistics;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.testjson.EnglishJson;
+import io.github.novacrypto.testjson.TestVector;
+import io.github.novacrypto.testjson.TestVectorJson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class SeedBatchCalculationTests {
+
+    @Test
+    public void all_english_test_vectors() {
+        final EnglishJson data = EnglishJson.load();
+        final int count = data.english.length;
+        final String[] mnemonics = new String[count];
+        final String[] passphrases = new String[count];
+        for (int i = 0; i < count; i++) {
+            mnemonics[i] = data.english[i][1];
+            passphrases[i] = "TREZOR";
+        }
+        final byte[][] seeds = new byte[count][];
+        final BatchStatistics statistics = new SeedCalculator().calculateSeeds(mnemonics, passphrases, seeds);
+        assertEquals(count, statistics.getCount());
+        for (int i = 0; i < count; i++) {
+            assertEquals(data.english[i][2], toHex(seeds[i]));
+        }
+    }
+
+    @Test
+    public void list_overload_on_supplied_pool() {
+        final List<String> mnemonics = new ArrayList<>();
+        final List<String> passphrases = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        for (final TestVector testVector : TestVectorJson.loadJapanese().vectors) {
+            mnemonics.add(testVector.mnemonic);
+            passphrases.add(testVector.passphrase);
+            expected.add(testVector.seed);
+        }
+        final byte[][] seeds = new byte[mnemonics.size()][];
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final BatchStatistics statistics = new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                    .calculateSeeds(mnemonics, passphrases, seeds, pool);
+            assertEquals(3, statistics.getParallelism());
+            assertTrue(statistics.getPerSecond() > 0);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < seeds.length; i++) {
+            assertEquals(expected.get(i), toHex(seeds[i]));
+        }
+    }
+
+    @Test
+    public void pure_java_leaves_hash_several_seeds_at_once() {
+        final EnglishJson data = EnglishJson.load();
+        final int count = data.english.length;
+        final String[] mnemonics = new String[count];
+        final String[] passphrases = new String[count];
+        for (int i = 0; i < count; i++) {
+            mnemonics[i] = data.english[i][1];
+            passphrases[i] = "TREZOR";
+        }
+        final byte[][] seeds = new byte[count][];
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                    .calculateSeeds(mnemonics, passphrases, seeds, pool);
+        } finally {
+            pool.shutdown();
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(data.english[i][2], toHex(seeds[i]));
+        }
+    }
+
+    @Test
+    public void leaves_extra_slots_untouched() {
+        final byte[][] seeds = new byte[3][];
+        new SeedCalculator().calculateSeeds(new String[]{"a", "b"}, new String[]{"", ""}, seeds);
+        assertEquals(toHex(new SeedCalculator().calculateSeed("b", "")), toHex(seeds[1]));
+        assertEquals(null, seeds[2]);
+    }
+
+    @Test
+    public void empty_batch() {
+        assertEquals(0, new SeedCalculator().calculateSeeds(new String[0], new String[0], new byte[0][]).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void passphrase_count_mismatch() {
+        new SeedCalculator().calculateSeeds(new String[]{"a", "b"}, new String[]{""}, new byte[2][]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void too_few_seed_slots() {
+        new SeedCalculator().calculateSeeds(Arrays.asList("a", "b"), Arrays.asList("", ""), new byte[1][]);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.testjson.EnglishJson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class SeedCalculationAsyncTests {
+
+    private static final String MNEMONIC = "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+    private static final String SEED = "2eea1e4d099089606b7678809be6090ccba0fca171d4ed42c550194ca8e3600cd1e5989dcca38e5f903f5c358c92e0dcaffc9e71a48ad489bb868025c907d1e1";
+
+    @Test
+    public void all_english_test_vectors() throws Exception {
+        final EnglishJson data = EnglishJson.load();
+        final List<Future<byte[]>> futures = new ArrayList<>();
+        for (final String[] testCase : data.english) {
+            futures.add(new SeedCalculator().calculateSeedAsync(testCase[1], "TREZOR"));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(data.english[i][2], toHex(futures.get(i).get()));
+        }
+    }
+
+    @Test
+    public void pure_java_on_supplied_executor() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(SEED, toHex(new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                    .calculateSeedAsync(MNEMONIC, "", executor).get()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void word_list_look_up() throws Exception {
+        final List<String> words = new ArrayList<>(Arrays.asList(MNEMONIC.split(" ")));
+        final Future<byte[]> future = new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE)
+                .calculateSeedAsync(words, "");
+        words.clear();
+        assertEquals(SEED, toHex(future.get()));
+    }
+
+    @Test
+    public void cancel_before_start() {
+        final List<Runnable> queued = new ArrayList<>();
+        final Future<byte[]> future = new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                .withWordsFromWordList(English.INSTANCE)
+                .calculateSeedAsync(Arrays.asList(MNEMONIC.split(" ")), "", queued::add);
+        assertTrue(future.cancel(false));
+        queued.get(0).run();
+        assertTrue(future.isCancelled());
+        assertTrue(future.isDone());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void rejected() {
+        new SeedCalculator().calculateSeedAsync(MNEMONIC, "", command -> {
+            throw new RejectedExecutionException();
+        });
+    }
+}
@@ -22,6 +22,7 @@
 package io.github.novacrypto;
 
 import io.github.novacrypto.bip39.JavaxPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
 import io.github.novacrypto.bip39.SeedCalculator;
 import io.github.novacrypto.bip39.SeedCalculatorByWordListLookUp;
 import io.github.novacrypto.bip39.WordList;
@@ -136,6 +137,36 @@ public final class SeedCalculationFromWordListTests {
         }
     }
 
+    @Test
+    public void word_indexes() {
+        assertEquals("2eea1e4d099089606b7678809be6090ccba0fca171d4ed42c550194ca8e3600cd1e5989dcca38e5f903f5c358c92e0dcaffc9e71a48ad489bb868025c907d1e1",
+                toHex(new SeedCalculator()
+                        .withWordsFromWordList(English.INSTANCE)
+                        .calculateSeed(new int[]{1651, 1392, 846, 1266, 1862, 223, 611, 1632, 735, 1105, 691, 1963}, "")));
+    }
+
+    @Test
+    public void no_word_indexes() {
+        assertEquals(toHex(new SeedCalculator().calculateSeed("", "TREZOR")),
+                toHex(new SeedCalculator()
+                        .withWordsFromWordList(English.INSTANCE)
+                        .calculateSeed(new int[0], "TREZOR")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void word_index_too_large() {
+        new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE)
+                .calculateSeed(new int[]{0, 2048}, "");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void word_index_negative() {
+        new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE)
+                .calculateSeed(new int[]{-1}, "");
+    }
+
     private static void testSeedGeneration(TestVector testVector, WordList wordList) {
         assertEquals(testVector.seed, calculateSeedHex(testVector.mnemonic, testVector.passphrase, wordList));
     }
@@ -159,7 +190,35 @@ public final class SeedCalculationFromWordListTests {
 
     private static String calculateSeedHex(final String mnemonic, String passphrase, WordList wordList, ValidateMode validateMode) {
         final List<String> mnemonic1 = Arrays.asList(mnemonic.split("[ \u3000]"));
-        return calculateSeedHex(mnemonic1, passphrase, wordList, validateMode);
+        final String seed = calculateSeedHex(mnemonic1, passphrase, wordList, validateMode);
+        if (validateMode == ValidateMode.NOT_EXPECTING_BAD_WORD) {
+            final int[] wordIndexes = wordIndexes(mnemonic1, wordList);
+            assertEquals(seed, toHex(new SeedCalculator()
+                    .withWordsFromWordList(wordList)
+                    .calculateSeed(wordIndexes, passphrase)));
+            assertEquals(seed, toHex(new SeedCalculator(JavaxPBKDF2WithHmacSHA512.INSTANCE)
+                    .withWordsFromWordList(wordList)
+                    .calculateSeed(wordIndexes, passphrase)));
+            assertEquals(seed, toHex(new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                    .withWordsFromWordList(wordList)
+                    .calculateSeed(wordIndexes, passphrase)));
+        }
+        return seed;
+    }
+
+    private static int[] wordIndexes(final List<String> words, final WordList wordList) {
+        final int[] wordIndexes = new int[words.size()];
+        for (int i = 0; i < wordIndexes.length; i++) {
+            final String word = Normalizer.normalize(words.get(i), Normalizer.Form.NFKD);
+            wordIndexes[i] = -1;
+            for (int j = 0; j < 1 << 11; j++) {
+                if (Normalizer.normalize(wordList.getWord(j), Normalizer.Form.NFKD).equals(word)) {
+                    wordIndexes[i] = j;
+                    break;
+                }
+            }
+        }
+        return wordIndexes;
     }
 
     private static String calculateSeedHex(Collection<? extends CharSequence> mnemonic, String passphrase, WordList wordList, ValidateMode validateMode) {
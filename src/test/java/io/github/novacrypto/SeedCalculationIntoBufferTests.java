@@ -0,0 +1,155 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.CalibratedPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.JavaxMacPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.JavaxPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedCalculator;
+import io.github.novacrypto.bip39.SpongyCastlePBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.wordlists.English;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+
+public final class SeedCalculationIntoBufferTests {
+
+    private static final String MNEMONIC = "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+    private static final String SEED = "2eea1e4d099089606b7678809be6090ccba0fca171d4ed42c550194ca8e3600cd1e5989dcca38e5f903f5c358c92e0dcaffc9e71a48ad489bb868025c907d1e1";
+    private static final String PASSPHRASE = "TREZOR";
+    private static final String SEED_WITH_PASSPHRASE = toHex(new SeedCalculator()
+            .calculateSeed(MNEMONIC, PASSPHRASE));
+
+    private static final PBKDF2WithHmacSHA512[] ALGORITHMS = {
+            SpongyCastlePBKDF2WithHmacSHA512.INSTANCE,
+            JavaxPBKDF2WithHmacSHA512.INSTANCE,
+            JavaxMacPBKDF2WithHmacSHA512.INSTANCE,
+            PureJavaPBKDF2WithHmacSHA512.INSTANCE,
+            CalibratedPBKDF2WithHmacSHA512.INSTANCE,
+            (chars, salt) -> SpongyCastlePBKDF2WithHmacSHA512.INSTANCE.hash(chars, salt)
+    };
+
+    @Test
+    public void into_array_at_offset() {
+        for (final PBKDF2WithHmacSHA512 algorithm : ALGORITHMS) {
+            final byte[] out = filled(70);
+            new SeedCalculator(algorithm).calculateSeed(MNEMONIC, "", out, 3);
+            assertSeedAt(SEED, out, 3);
+        }
+    }
+
+    @Test
+    public void into_heap_buffer() {
+        for (final PBKDF2WithHmacSHA512 algorithm : ALGORITHMS) {
+            final ByteBuffer buffer = ByteBuffer.wrap(filled(80));
+            buffer.position(5);
+            final ByteBuffer slice = buffer.slice();
+            slice.position(2);
+            new SeedCalculator(algorithm).calculateSeed(MNEMONIC, PASSPHRASE, slice);
+            assertEquals(66, slice.position());
+            assertSeedAt(SEED_WITH_PASSPHRASE, buffer.array(), 7);
+        }
+    }
+
+    @Test
+    public void into_direct_buffer() {
+        for (final PBKDF2WithHmacSHA512 algorithm : ALGORITHMS) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(70);
+            buffer.put(filled(70));
+            buffer.position(4);
+            new SeedCalculator(algorithm).calculateSeed(MNEMONIC, "", buffer);
+            assertEquals(68, buffer.position());
+            final byte[] out = new byte[70];
+            buffer.rewind();
+            buffer.get(out);
+            assertSeedAt(SEED, out, 4);
+        }
+    }
+
+    @Test
+    public void word_list_look_up_into_array_and_buffer() {
+        final byte[] out = filled(66);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        new SeedCalculator(PureJavaPBKDF2WithHmacSHA512.INSTANCE)
+                .withWordsFromWordList(English.INSTANCE)
+                .calculateSeed(Arrays.asList(MNEMONIC.split(" ")), "", out, 1);
+        new SeedCalculator()
+                .withWordsFromWordList(English.INSTANCE)
+                .calculateSeed(Arrays.asList(MNEMONIC.split(" ")), "", buffer);
+        assertSeedAt(SEED, out, 1);
+        final byte[] fromBuffer = new byte[64];
+        buffer.flip();
+        buffer.get(fromBuffer);
+        assertEquals(SEED, toHex(fromBuffer));
+    }
+
+    @Test
+    public void array_without_room_is_untouched() {
+        for (final PBKDF2WithHmacSHA512 algorithm : ALGORITHMS) {
+            final byte[] out = filled(70);
+            try {
+                new SeedCalculator(algorithm).calculateSeed(MNEMONIC, "", out, 7);
+                throw new AssertionError("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals("Need 64 bytes from offset 7", e.getMessage());
+            }
+            assertEquals(toHex(filled(70)), toHex(out));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negative_offset() {
+        PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash("a".toCharArray(), new byte[1], new byte[70], -1);
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void buffer_without_room() {
+        new SeedCalculator().calculateSeed(MNEMONIC, "", ByteBuffer.allocate(63));
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void read_only_buffer() {
+        new SeedCalculator().calculateSeed(MNEMONIC, "", ByteBuffer.allocate(64).asReadOnlyBuffer());
+    }
+
+    private static byte[] filled(final int length) {
+        final byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) 0xa5);
+        return bytes;
+    }
+
+    private static void assertSeedAt(final String seedHex, final byte[] out, final int offset) {
+        assertEquals(seedHex, toHex(Arrays.copyOfRange(out, offset, offset + 64)));
+        for (int i = 0; i < out.length; i++) {
+            if (i < offset || i >= offset + 64)
+                assertEquals((byte) 0xa5, out[i]);
+        }
+    }
+}
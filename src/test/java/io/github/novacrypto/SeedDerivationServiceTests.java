@@ -0,0 +1,260 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.bip39.CalibratedPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.PureJavaPBKDF2WithHmacSHA512;
+import io.github.novacrypto.bip39.SeedDerivationService;
+import io.github.novacrypto.bip39.SeedDerivationService.Priority;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public final class SeedDerivationServiceTests {
+
+    private static final String MNEMONIC = "solar puppy hawk oxygen trip brief erase slot fossil mechanic filter voice";
+    private static final String SEED = "2eea1e4d099089606b7678809be6090ccba0fca171d4ed42c550194ca8e3600cd1e5989dcca38e5f903f5c358c92e0dcaffc9e71a48ad489bb868025c907d1e1";
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * Records the order of mnemonics and blocks on the mnemonic "block" until released.
+     */
+    private final PBKDF2WithHmacSHA512 recording = (chars, salt) -> {
+        final String mnemonic = new String(chars);
+        order.add(mnemonic);
+        if (mnemonic.equals("block")) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return new byte[64];
+    };
+
+    private SeedDerivationService service;
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        if (service != null) service.shutdownNow();
+    }
+
+    @Test
+    public void calculates_seed() throws Exception {
+        service = new SeedDerivationService(PureJavaPBKDF2WithHmacSHA512.INSTANCE, 2, 10);
+        final Future<byte[]> future = service.submit(MNEMONIC, "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        assertEquals(SEED, toHex(future.get()));
+        assertEquals(1, service.getCompletedCount());
+        assertTrue(service.getAverageServiceNanos() > 0);
+        assertEquals(service.getAverageServiceNanos(), service.getMeanServiceNanos());
+        assertEquals(0, service.getQueueDepth());
+    }
+
+    @Test
+    public void higher_priority_starts_first() throws Exception {
+        service = new SeedDerivationService(recording, 1, 10);
+        service.submit("block", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        started.await();
+        final List<Future<byte[]>> futures = new ArrayList<>();
+        futures.add(service.submit("low", "", Priority.LOW, 1, TimeUnit.MINUTES));
+        futures.add(service.submit("normal 1", "", Priority.NORMAL, 1, TimeUnit.MINUTES));
+        futures.add(service.submit("high", "", Priority.HIGH, 1, TimeUnit.MINUTES));
+        futures.add(service.submit("normal 2", "", Priority.NORMAL, 1, TimeUnit.MINUTES));
+        assertEquals(4, service.getQueueDepth());
+        assertEquals(1, service.getActiveCount());
+        release.countDown();
+        for (final Future<byte[]> future : futures) {
+            future.get();
+        }
+        assertEquals(5, service.getCompletedCount());
+        assertEquals(5, order.size());
+        assertEquals("[block, high, normal 1, normal 2, low]", order.toString());
+    }
+
+    @Test
+    public void rejects_when_queue_full() throws Exception {
+        service = new SeedDerivationService(recording, 1, 1);
+        service.submit("block", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        started.await();
+        service.submit("queued", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        try {
+            service.submit("rejected", "", Priority.HIGH, 1, TimeUnit.MINUTES);
+            fail();
+        } catch (final RejectedExecutionException e) {
+            assertEquals("Queue is full", e.getMessage());
+        }
+        assertEquals(1, service.getRejectedCount());
+        assertEquals(1, service.getQueueDepth());
+    }
+
+    @Test
+    public void cancelled_requests_free_queue_capacity() throws Exception {
+        service = new SeedDerivationService(recording, 1, 2);
+        service.submit("block", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        started.await();
+        final Future<byte[]> cancelled1 = service.submit("cancelled 1", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        final Future<byte[]> cancelled2 = service.submit("cancelled 2", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        assertEquals(2, service.getQueueDepth());
+        cancelled1.cancel(false);
+        cancelled2.cancel(false);
+        assertEquals(0, service.getQueueDepth());
+        final Future<byte[]> future1 = service.submit("queued 1", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        final Future<byte[]> future2 = service.submit("queued 2", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        assertEquals(2, service.getQueueDepth());
+        release.countDown();
+        future1.get();
+        future2.get();
+        assertEquals(0, service.getQueueDepth());
+        assertEquals(0, service.getRejectedCount());
+        assertEquals("[block, queued 1, queued 2]", order.toString());
+    }
+
+    @Test
+    public void expired_requests_free_queue_capacity() throws Exception {
+        service = new SeedDerivationService(recording, 1, 2);
+        service.submit("block", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        started.await();
+        final Future<byte[]> expired1 = service.submit("expires 1", "", Priority.NORMAL, 1, TimeUnit.MILLISECONDS);
+        final Future<byte[]> expired2 = service.submit("expires 2", "", Priority.NORMAL, 1, TimeUnit.MILLISECONDS);
+        Thread.sleep(10);
+        final Future<byte[]> future = service.submit("queued", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        assertTimedOut(expired1);
+        assertTimedOut(expired2);
+        assertEquals(2, service.getExpiredCount());
+        assertEquals(1, service.getQueueDepth());
+        release.countDown();
+        future.get();
+        assertEquals(0, service.getQueueDepth());
+        assertEquals(0, service.getRejectedCount());
+        assertEquals("[block, queued]", order.toString());
+    }
+
+    @Test
+    public void rejects_when_estimated_completion_exceeds_deadline() throws Exception {
+        service = new SeedDerivationService((chars, salt) -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return recording.hash(chars, salt);
+        }, 1, 10);
+        service.submit("slow", "", Priority.NORMAL, 1, TimeUnit.MINUTES).get();
+        assertTrue(service.getEstimatedCompletionNanos(Priority.NORMAL) >= TimeUnit.MILLISECONDS.toNanos(50));
+        try {
+            service.submit("too slow", "", Priority.NORMAL, 10, TimeUnit.MILLISECONDS);
+            fail();
+        } catch (final RejectedExecutionException e) {
+            assertEquals("Estimated completion time exceeds the deadline", e.getMessage());
+        }
+    }
+
+    @Test
+    public void deadline_passes_while_queued() throws Exception {
+        service = new SeedDerivationService(recording, 1, 10);
+        service.submit("block", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        started.await();
+        final Future<byte[]> future = service.submit("expires", "", Priority.NORMAL, 1, TimeUnit.MILLISECONDS);
+        Thread.sleep(10);
+        release.countDown();
+        assertTimedOut(future);
+        assertEquals(1, service.getExpiredCount());
+        assertTrue(!order.contains("expires"));
+    }
+
+    @Test
+    public void deadline_passes_mid_calculation() throws Exception {
+        service = new SeedDerivationService(PureJavaPBKDF2WithHmacSHA512.INSTANCE, 1, 10);
+        assertTimedOut(service.submit(MNEMONIC, "", Priority.NORMAL, 100, TimeUnit.MICROSECONDS));
+        assertEquals(1, service.getExpiredCount());
+        assertEquals(0, service.getCompletedCount());
+    }
+
+    @Test
+    public void deadline_passes_mid_calculation_with_calibrated_algorithm() throws Exception {
+        assumeTrue(CalibratedPBKDF2WithHmacSHA512.INSTANCE.getCalibration().getSelected()
+                == PureJavaPBKDF2WithHmacSHA512.INSTANCE);
+        service = new SeedDerivationService(CalibratedPBKDF2WithHmacSHA512.INSTANCE, 1, 10);
+        assertTimedOut(service.submit(MNEMONIC, "", Priority.NORMAL, 1, TimeUnit.MILLISECONDS));
+        assertEquals(1, service.getExpiredCount());
+        assertEquals(0, service.getCompletedCount());
+    }
+
+    @Test
+    public void rejects_after_shutdown() {
+        service = new SeedDerivationService(recording, 1, 10);
+        service.shutdown();
+        try {
+            service.submit(MNEMONIC, "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+            fail();
+        } catch (final RejectedExecutionException ignored) {
+        }
+        assertEquals(1, service.getRejectedCount());
+        assertEquals(0, service.getQueueDepth());
+    }
+
+    @Test
+    public void shutdown_now_cancels_queued() throws Exception {
+        service = new SeedDerivationService(recording, 1, 10);
+        service.submit("block", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        started.await();
+        final Future<byte[]> queued = service.submit("queued", "", Priority.NORMAL, 1, TimeUnit.MINUTES);
+        service.shutdownNow();
+        assertTrue(queued.isCancelled());
+        assertEquals(0, service.getQueueDepth());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void needs_a_worker() {
+        new SeedDerivationService(recording, 0, 10);
+    }
+
+    private static void assertTimedOut(final Future<byte[]> future) throws InterruptedException {
+        try {
+            future.get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+}
@@ -23,7 +23,12 @@ package io.github.novacrypto.bip39;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
 import static io.github.novacrypto.bip39.ByteUtils.next11Bits;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -76,4 +81,30 @@ public final class ByteUtilTests {
         assertEquals(0b10000000100, next11Bits(bytes, 8));
         assertEquals(0b00000001000, next11Bits(bytes, 9));
     }
+
+    @Test
+    public void write11IntoLongsMatchesBytes() {
+        final Random random = new Random(9);
+        for (int n = 0; n < 200; n++) {
+            final int[] values = new int[24];
+            final byte[] bytes = new byte[40];
+            final long[] bits = new long[5];
+            for (int i = 0; i < values.length; i++) {
+                bits[random.nextInt(5)] = random.nextLong();
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(1 << 11);
+                ByteUtils.writeNext11(bytes, values[i], i * 11);
+            }
+            for (int i = 0; i < values.length; i++) {
+                ByteUtils.write11(bits, random.nextInt(1 << 11), i * 11);
+            }
+            for (int i = values.length - 1; i >= 0; i--) {
+                ByteUtils.write11(bits, values[i], i * 11);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate(40);
+            for (final long word : bits) buffer.putLong(word);
+            assertArrayEquals(Arrays.copyOf(bytes, 33), Arrays.copyOf(buffer.array(), 33));
+        }
+    }
 }
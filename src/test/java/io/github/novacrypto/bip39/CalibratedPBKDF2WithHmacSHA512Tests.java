@@ -0,0 +1,110 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class CalibratedPBKDF2WithHmacSHA512Tests {
+
+    private static final PBKDF2WithHmacSHA512Extensions CALIBRATED =
+            PBKDF2WithHmacSHA512Extensions.of(CalibratedPBKDF2WithHmacSHA512.INSTANCE);
+    private static final char[] PASSWORD = "password".toCharArray();
+    private static final byte[] SALT = "salt".getBytes();
+
+    @Test
+    public void cancellation_is_polled_as_the_selected_backend_polls_it() {
+        final PBKDF2WithHmacSHA512 selected = CalibratedPBKDF2WithHmacSHA512.INSTANCE.getCalibration().getSelected();
+        final int[] polls = new int[1];
+        try {
+            CALIBRATED.hash(PASSWORD, SALT, () -> ++polls[0] == 10);
+            assertEquals(1, polls[0]);
+            assertEquals(false, selected == PureJavaPBKDF2WithHmacSHA512.INSTANCE);
+        } catch (final CancellationException e) {
+            assertEquals(10, polls[0]);
+            assertEquals(true, selected == PureJavaPBKDF2WithHmacSHA512.INSTANCE);
+        }
+    }
+
+    @Test
+    public void cancelled_before_start_whatever_the_selected_backend() {
+        try {
+            CALIBRATED.hash(PASSWORD, SALT, () -> true);
+            fail();
+        } catch (final CancellationException ignored) {
+        }
+    }
+
+    @Test
+    public void direct_buffer_matches_selected_backend() {
+        final ByteBuffer direct = ByteBuffer.allocateDirect(70);
+        direct.position(3);
+        CALIBRATED.hash(PASSWORD, SALT, direct);
+        assertEquals(67, direct.position());
+        final byte[] actual = new byte[64];
+        direct.position(3);
+        direct.get(actual);
+        final byte[] expected = CalibratedPBKDF2WithHmacSHA512.INSTANCE.getCalibration().getSelected()
+                .hash(PASSWORD, SALT);
+        assertEquals(toHex(expected), toHex(actual));
+    }
+
+    @Test
+    public void batch_matches_one_by_one() {
+        final char[][] passwords = {PASSWORD, "other".toCharArray()};
+        final byte[][] salts = {SALT, "pepper".getBytes()};
+        final byte[][] seeds = CALIBRATED.hash(passwords, salts);
+        assertEquals(2, seeds.length);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(toHex(PureJavaPBKDF2WithHmacSHA512.INSTANCE.hash(passwords[i], salts[i])), toHex(seeds[i]));
+        }
+    }
+
+    @Test
+    public void falls_back_to_pure_java_when_calibration_fails() {
+        final PBKDF2WithHmacSHA512 throwing = new PBKDF2WithHmacSHA512() {
+            @Override
+            public byte[] hash(char[] chars, byte[] salt) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        final PBKDF2Calibration calibration = PBKDF2Calibration.runOrFallBack(Collections.singletonList(throwing));
+        assertEquals(PureJavaPBKDF2WithHmacSHA512.INSTANCE, calibration.getSelected());
+        assertTrue(calibration.toString().contains("calibration failed"));
+    }
+
+    @Test
+    public void library_backends_calibrate_without_falling_back() {
+        final PBKDF2Calibration calibration =
+                PBKDF2Calibration.runOrFallBack(PBKDF2Calibration.libraryBackends());
+        assertEquals(3, calibration.getNanosPerSeed().size());
+        assertEquals(false, calibration.toString().contains("calibration failed"));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import org.junit.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static io.github.novacrypto.Hex.toHex;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public final class HmacSha512Tests {
+
+    @Test
+    public void sha512_matches_message_digest_across_block_boundaries() throws Exception {
+        final Random random = new Random(1);
+        final long[] w = Sha512.newSchedule();
+        final long[] state = new long[8];
+        for (int length = 0; length <= 300; length++) {
+            final byte[] message = new byte[length];
+            random.nextBytes(message);
+            Sha512.initialState(state);
+            Sha512.hash(state, 0, message, 0, length, w, state);
+            final byte[] actual = new byte[64];
+            for (int i = 0; i < 8; i++) {
+                Sha512.writeLong(state[i], actual, i * 8);
+            }
+            assertArrayEquals("Length " + length, MessageDigest.getInstance("SHA-512").digest(message), actual);
+        }
+    }
+
+    @Test
+    public void pbkdf2_matches_javax_for_key_and_salt_lengths() throws Exception {
+        final Random random = new Random(2);
+        for (final int keyLength : new int[]{0, 1, 64, 127, 128, 129, 300}) {
+            for (final int saltLength : new int[]{1, 8, 107, 108, 123, 124, 250}) {
+                final char[] password = randomAscii(random, keyLength);
+                final byte[] salt = new byte[saltLength];
+                random.nextBytes(salt);
+                for (final int iterations : new int[]{1, 2, 5}) {
+                    assertEquals("key " + keyLength + ", salt " + saltLength + ", iterations " + iterations,
+                            javax(password, salt, iterations),
+                            pureJava(password, salt, iterations));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void pbkdf2_writes_at_offset() {
+        final byte[] out = new byte[70];
+        final HmacSha512 hmac = new HmacSha512("password".getBytes(StandardCharsets.UTF_8));
+        hmac.pbkdf2(new byte[]{1, 2, 3}, 3, out, 3);
+        assertEquals(0, out[0] | out[1] | out[2] | out[67] | out[68] | out[69]);
+        final byte[] expected = new byte[64];
+        hmac.pbkdf2(new byte[]{1, 2, 3}, 3, expected, 0);
+        for (int i = 0; i < 64; i++) {
+            assertEquals(expected[i], out[i + 3]);
+        }
+    }
+
+    @Test
+    public void pbkdf2_checks_cancellation_between_iterations() {
+        final int[] polls = new int[1];
+        final byte[] out = new byte[64];
+        try {
+            new HmacSha512(new byte[]{1}).pbkdf2(new byte[]{2}, 2048, out, 0, () -> ++polls[0] == 10);
+            fail();
+        } catch (final CancellationException e) {
+            assertEquals(10, polls[0]);
+            assertArrayEquals(new byte[64], out);
+        }
+    }
+
+    private static char[] randomAscii(final Random random, final int length) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (' ' + random.nextInt(95));
+        }
+        return chars;
+    }
+
+    private static String pureJava(final char[] password, final byte[] salt, final int iterations) {
+        final byte[] out = new byte[64];
+        new HmacSha512(new String(password).getBytes(StandardCharsets.UTF_8)).pbkdf2(salt, iterations, out, 0);
+        return toHex(out);
+    }
+
+    private static String javax(final char[] password, final byte[] salt, final int iterations) throws Exception {
+        return toHex(SecretKeyFactory.getInstance("PBKDF2WithHmacSHA512")
+                .generateSecret(new PBEKeySpec(password, salt, iterations, 512))
+                .getEncoded());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public final class Sha256Tests {
+
+    @Test
+    public void first_byte_of_array_range() throws Exception {
+        final Random random = new Random(1);
+        for (int length = 0; length <= 200; length++) {
+            final byte[] message = new byte[length + 5];
+            random.nextBytes(message);
+            final byte[] part = Arrays.copyOfRange(message, 3, 3 + length);
+            final int expected = MessageDigest.getInstance("SHA-256").digest(part)[0] & 0xff;
+            assertEquals("length " + length, expected, Sha256.firstByte(message, 3, length));
+        }
+    }
+
+    @Test
+    public void first_byte_of_words() throws Exception {
+        final Random random = new Random(2);
+        for (int length = 0; length <= 32; length++) {
+            for (int i = 0; i < 20; i++) {
+                final byte[] padded = new byte[32];
+                random.nextBytes(padded);
+                Arrays.fill(padded, length, 32, (byte) 0);
+                final ByteBuffer words = ByteBuffer.wrap(padded);
+                final int expected = MessageDigest.getInstance("SHA-256")
+                        .digest(Arrays.copyOf(padded, length))[0] & 0xff;
+                assertEquals("length " + length, expected,
+                        Sha256.firstByte(words.getLong(0), words.getLong(8), words.getLong(16), words.getLong(24),
+                                length));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import org.junit.Test;
+
+import static io.github.novacrypto.bip39.Normalization.normalizeNFKD;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public final class WordTablesTests {
+
+    @Test
+    public void built_once_per_word_list() {
+        assertSame(WordTables.of(English.INSTANCE), WordTables.of(English.INSTANCE));
+        assertNotSame(WordTables.of(English.INSTANCE), WordTables.of(Japanese.INSTANCE));
+    }
+
+    @Test
+    public void normalized_tables_share_arrays_that_normalization_leaves_alone() {
+        final WordTables tables = WordTables.of(English.INSTANCE);
+        for (int i = 0; i < 1 << 11; i++) {
+            assertSame(tables.utf8Words[i], tables.normalizedUtf8Words[i]);
+        }
+        assertSame(tables.utf8Space, tables.normalizedUtf8Space);
+    }
+
+    @Test
+    public void japanese_tables() {
+        final WordTables tables = WordTables.of(Japanese.INSTANCE);
+        for (int i = 0; i < 1 << 11; i++) {
+            final String word = Japanese.INSTANCE.getWord(i);
+            assertArrayEquals(word.toCharArray(), tables.words[i]);
+            assertArrayEquals(Utf8.encode(word.toCharArray()), tables.utf8Words[i]);
+            assertArrayEquals(Utf8.encode(normalizeNFKD(word).toCharArray()), tables.normalizedUtf8Words[i]);
+        }
+        assertArrayEquals(Utf8.encode(normalizeNFKD("\u3000").toCharArray()), tables.normalizedUtf8Space);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *  BIP39 library, a Java implementation of BIP39
+ *  Copyright (C) 2017-2019 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/BIP39
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.bip39;
+
+import io.github.novacrypto.bip39.wordlists.English;
+import io.github.novacrypto.bip39.wordlists.French;
+import io.github.novacrypto.bip39.wordlists.Japanese;
+import io.github.novacrypto.bip39.wordlists.Spanish;
+import org.junit.Test;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public final class WordTrieTests {
+
+    private static final WordList[] WORD_LISTS = {
+            English.INSTANCE, French.INSTANCE, Japanese.INSTANCE, Spanish.INSTANCE
+    };
+
+    @Test
+    public void finds_every_word_in_every_form() {
+        for (final WordList wordList : WORD_LISTS) {
+            final WordTrie trie = new WordTrie(wordList);
+            for (int i = 0; i < 1 << 11; i++) {
+                final String word = wordList.getWord(i);
+                assertEquals(word, i, trie.find(word, 0, word.length()));
+                assertEquals(word, i, find(trie, Normalizer.normalize(word, Normalizer.Form.NFC)));
+                assertEquals(word, i, find(trie, Normalizer.normalize(word, Normalizer.Form.NFKD)));
+            }
+        }
+    }
+
+    @Test
+    public void finds_word_within_a_sequence() {
+        final WordTrie trie = new WordTrie(English.INSTANCE);
+        assertEquals(1, trie.find("xxabilityxx", 2, 9));
+    }
+
+    @Test
+    public void misses_match_binary_search_insertion_point() {
+        final Random random = new Random(3);
+        final char[] alphabet = "abcdeéñzアカガ゙̣́ 😀".toCharArray();
+        for (final WordList wordList : WORD_LISTS) {
+            final WordTrie trie = new WordTrie(wordList);
+            final String[] sorted = sortedNormalized(wordList);
+            for (int n = 0; n < 5000; n++) {
+                final String candidate = n % 2 == 0
+                        ? randomString(random, alphabet)
+                        : mutate(random, wordList.getWord(random.nextInt(1 << 11)), alphabet);
+                final int expected = Arrays.binarySearch(sorted,
+                        Normalizer.normalize(candidate, Normalizer.Form.NFKD), CharSequenceComparators.ALPHABETICAL);
+                final int actual = find(trie, candidate);
+                if (expected >= 0) {
+                    assertEquals(candidate, sorted[expected],
+                            Normalizer.normalize(wordList.getWord(actual), Normalizer.Form.NFKD));
+                } else {
+                    assertEquals(candidate, expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void index_at_rank_is_in_sorted_order() {
+        for (final WordList wordList : WORD_LISTS) {
+            final WordTrie trie = new WordTrie(wordList);
+            final String[] sorted = sortedNormalized(wordList);
+            for (int rank = 0; rank < 1 << 11; rank++) {
+                assertEquals(sorted[rank],
+                        Normalizer.normalize(wordList.getWord(trie.indexAtRank(rank)), Normalizer.Form.NFKD));
+            }
+        }
+    }
+
+    private static int find(final WordTrie trie, final String word) {
+        return trie.find(word, 0, word.length());
+    }
+
+    private static String[] sortedNormalized(final WordList wordList) {
+        final String[] sorted = new String[1 << 11];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = Normalizer.normalize(wordList.getWord(i), Normalizer.Form.NFKD);
+        }
+        Arrays.sort(sorted, CharSequenceComparators.ALPHABETICAL);
+        return sorted;
+    }
+
+    private static String randomString(final Random random, final char[] alphabet) {
+        final StringBuilder sb = new StringBuilder();
+        final int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet[random.nextInt(alphabet.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String mutate(final Random random, final String word, final char[] alphabet) {
+        final StringBuilder sb = new StringBuilder(word);
+        switch (random.nextInt(4)) {
+            case 0:
+                return word;
+            case 1:
+                sb.setLength(random.nextInt(word.length() + 1));
+                return sb.toString();
+            case 2:
+                sb.insert(random.nextInt(word.length() + 1), alphabet[random.nextInt(alphabet.length)]);
+                return sb.toString();
+            default:
+                sb.setCharAt(random.nextInt(word.length()), alphabet[random.nextInt(alphabet.length)]);
+                return sb.toString();
+        }
+    }
+}